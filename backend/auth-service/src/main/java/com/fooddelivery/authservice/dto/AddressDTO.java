@@ -1,5 +1,7 @@
 package com.fooddelivery.authservice.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 
 public class AddressDTO {
@@ -25,6 +27,14 @@ public class AddressDTO {
 
     private String landmark;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     private boolean isDefault;
 
     // Getters and Setters
@@ -52,6 +62,12 @@ public class AddressDTO {
     public String getLandmark() { return landmark; }
     public void setLandmark(String landmark) { this.landmark = landmark; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public boolean getIsDefault() { return isDefault; }
     public void setIsDefault(boolean isDefault) { this.isDefault = isDefault;}
 }
\ No newline at end of file
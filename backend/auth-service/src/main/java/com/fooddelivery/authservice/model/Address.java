@@ -33,6 +33,11 @@ public class Address {
 
     private String landmark;
 
+    // Optional, used by order-service to price delivery by distance
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "is_default", nullable = false)
     @JsonProperty("isDefault")
     private boolean isDefault = false;
@@ -78,6 +83,12 @@ public class Address {
     public String getLandmark() { return landmark; }
     public void setLandmark(String landmark) { this.landmark = landmark; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public boolean getIsDefault() { return isDefault; }
     public void setIsDefault(boolean isDefault) { this.isDefault = isDefault;}
 
@@ -25,6 +25,8 @@ public class AddressService {
         address.setCity(dto.getCity());
         address.setState(dto.getState());
         address.setZipCode(dto.getZipCode());
+        address.setLatitude(dto.getLatitude());
+        address.setLongitude(dto.getLongitude());
         address.setIsDefault(dto.getIsDefault());
 
         // If this is set as default, unset other defaults
@@ -73,6 +75,8 @@ public class AddressService {
         address.setCity(dto.getCity());
         address.setState(dto.getState());
         address.setZipCode(dto.getZipCode());
+        address.setLatitude(dto.getLatitude());
+        address.setLongitude(dto.getLongitude());
 
         if (dto.getIsDefault() && !address.getIsDefault()) {
             // Unset other defaults
@@ -0,0 +1,25 @@
+package com.fooddelivery.cartservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Runs asynchronous checkouts (CheckoutJobs). When saturated, submissions are
+    // rejected (CheckoutJobs answers 503 with Retry-After) rather than run on the request thread.
+    @Bean(name = "checkoutExecutor")
+    public ThreadPoolTaskExecutor checkoutExecutor(
+            @Value("${cart.checkout.pool-size:16}") int poolSize,
+            @Value("${cart.checkout.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("cart-checkout-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -3,11 +3,15 @@ package com.fooddelivery.cartservice.controller;
 import com.fooddelivery.cartservice.dto.*;
 
 import com.fooddelivery.cartservice.service.CartService;
+import com.fooddelivery.cartservice.service.CheckoutJobs;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.net.URI;
 
 @RestController
 @RequestMapping("/cart")
@@ -16,12 +20,22 @@ public class CartController {
     @Autowired
     private CartService cartService;
 
-    // GET /cart — Get customer's cart
+    @Autowired
+    private CheckoutJobs checkoutJobs;
+
+    // GET /cart — Get customer's cart; 304 when If-None-Match still matches its ETag
     @GetMapping
     public ResponseEntity<CartResponseDTO> getCart(
-            @RequestHeader("X-User-Id") Long customerId) {
+            @RequestHeader("X-User-Id") Long customerId,
+            WebRequest request) {
+        // Only the cart's version is looked up; an unchanged cart is not rebuilt or serialized
+        String eTag = cartService.getCartETag(customerId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+
         CartResponseDTO cart = cartService.getCartByCustomerId(customerId);
-        return ResponseEntity.ok(cart);
+        return ResponseEntity.ok().eTag(eTagOf(cart)).body(cart);
     }
 
     // POST /cart/items — Add item to cart
@@ -30,7 +44,16 @@ public class CartController {
             @Valid @RequestBody AddCartItemDTO dto,
             @RequestHeader("X-User-Id") Long customerId) {
         CartResponseDTO cart = cartService.addItemToCart(dto, customerId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(cart);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTagOf(cart)).body(cart);
+    }
+
+    // POST /cart/items/batch — Add several items at once (reorder, combos)
+    @PostMapping("/items/batch")
+    public ResponseEntity<CartResponseDTO> addItemsToCart(
+            @Valid @RequestBody AddCartItemsDTO dto,
+            @RequestHeader("X-User-Id") Long customerId) {
+        CartResponseDTO cart = cartService.addItemsToCart(dto.getItems(), customerId);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTagOf(cart)).body(cart);
     }
 
     // PUT /cart/items/{itemId} — Update cart item
@@ -40,7 +63,7 @@ public class CartController {
             @Valid @RequestBody UpdateCartItemDTO dto,
             @RequestHeader("X-User-Id") Long customerId) {
         CartResponseDTO cart = cartService.updateCartItem(itemId, dto, customerId);
-        return ResponseEntity.ok(cart);
+        return ResponseEntity.ok().eTag(eTagOf(cart)).body(cart);
     }
 
     // DELETE /cart/items/{itemId} — Remove item from cart
@@ -55,7 +78,7 @@ public class CartController {
             return ResponseEntity.noContent().build();
         }
 
-        return ResponseEntity.ok(cart);
+        return ResponseEntity.ok().eTag(eTagOf(cart)).body(cart);
     }
 
     // DELETE /cart — Clear entire cart
@@ -66,12 +89,33 @@ public class CartController {
         return ResponseEntity.noContent().build();
     }
 
-    // POST /cart/checkout — Checkout and create order
+    // POST /cart/checkout — Checkout and create order.
+    // With "Prefer: respond-async" the checkout is queued: 202 with the job to poll
     @PostMapping("/checkout")
-    public ResponseEntity<OrderResponseDTO> checkout(
+    public ResponseEntity<?> checkout(
             @Valid @RequestBody CheckoutRequestDTO dto,
-            @RequestHeader("X-User-Id") Long customerId) {
+            @RequestHeader("X-User-Id") Long customerId,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        if (prefer != null && prefer.contains("respond-async")) {
+            CheckoutJobDTO job = checkoutJobs.submit(dto, customerId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/cart/checkout/" + job.getJobId()))
+                    .body(job);
+        }
+
         OrderResponseDTO order = cartService.checkout(dto, customerId);
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
+
+    // GET /cart/checkout/{jobId} — Outcome of an asynchronous checkout
+    @GetMapping("/checkout/{jobId}")
+    public ResponseEntity<CheckoutJobDTO> getCheckoutJob(
+            @PathVariable String jobId,
+            @RequestHeader("X-User-Id") Long customerId) {
+        return ResponseEntity.ok(checkoutJobs.getJob(jobId, customerId));
+    }
+
+    private String eTagOf(CartResponseDTO cart) {
+        return CartService.eTag(cart.getId(), cart.getVersion());
+    }
 }
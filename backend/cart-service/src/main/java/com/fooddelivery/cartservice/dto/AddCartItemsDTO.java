@@ -0,0 +1,20 @@
+package com.fooddelivery.cartservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddCartItemsDTO {
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "At most 100 items per request")
+    private List<@Valid @NotNull AddCartItemDTO> items;
+}
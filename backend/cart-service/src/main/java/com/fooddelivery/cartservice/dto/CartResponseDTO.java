@@ -22,4 +22,5 @@ public class CartResponseDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime expiresAt;
+    private Long version; // Changes whenever the cart does; also sent as the ETag
 }
@@ -0,0 +1,23 @@
+package com.fooddelivery.cartservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutJobDTO {
+
+    public enum Status { PENDING, RUNNING, SUCCEEDED, FAILED }
+
+    private String jobId;
+    private Status status;
+    private OrderResponseDTO order; // Set once SUCCEEDED
+    private String error; // Set once FAILED
+    private Boolean retriable; // FAILED: whether checking out again may succeed (the cart is kept)
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
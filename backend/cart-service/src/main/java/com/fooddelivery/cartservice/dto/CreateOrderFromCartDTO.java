@@ -15,4 +15,5 @@ public class CreateOrderFromCartDTO {
     private Long deliveryAddressId;
     private List<CartItemForOrderDTO> items;
     private String specialInstructions;
+    private String priceToken; // Signed, short-lived; see CartPriceTokens
 }
@@ -0,0 +1,15 @@
+package com.fooddelivery.cartservice.exception;
+
+// 503 with a Retry-After header; the request can be sent again unchanged
+public class ServiceUnavailableException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -13,5 +13,6 @@ public interface OrderServiceClient {
     @PostMapping("/orders/from-cart")
     OrderResponseDTO createOrderFromCart(
             @RequestBody CreateOrderFromCartDTO dto,
-            @RequestHeader("X-Internal-Request") String internalFlag);
+            @RequestHeader("X-Internal-Request") String internalFlag,
+            @RequestHeader("Idempotency-Key") String idempotencyKey);
 }
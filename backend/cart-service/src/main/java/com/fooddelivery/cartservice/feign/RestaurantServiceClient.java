@@ -3,7 +3,10 @@ package com.fooddelivery.cartservice.feign;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "RESTAURANT-SERVICE")
@@ -16,4 +19,10 @@ public interface RestaurantServiceClient {
     Map<String, Object> getMenuItem(
             @PathVariable Long restaurantId,
             @PathVariable Long menuItemId);
+
+    // Several menu items of one restaurant in a single call; unknown ids are left out
+    @PostMapping("/restaurants/{restaurantId}/menu/batch")
+    List<Map<String, Object>> getMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestBody List<Long> menuItemIds);
 }
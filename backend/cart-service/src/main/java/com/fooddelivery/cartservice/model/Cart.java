@@ -1,18 +1,26 @@
 package com.fooddelivery.cartservice.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
-@Table(name = "carts")
+@Table(name = "carts", indexes = {
+        // ExpiredCartSweeper
+        @Index(name = "idx_carts_expires_at", columnList = "expiresAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,22 +38,72 @@ public class Cart {
     @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CartItem> items = new ArrayList<>();
 
-    @CreationTimestamp
+    // Set by CartService rather than Hibernate, so the in-memory store has them too
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     private LocalDateTime updatedAt;
 
     private LocalDateTime expiresAt; // TTL implementation
 
+    // Bumped by the CartStore on every change; with the id it forms the ETag of GET /cart.
+    // Not a JPA @Version: the in-memory store writes carts behind, several versions at once
+    @Column(nullable = false)
+    private long version;
+
+    // Items by CartItem.lineKey(), built on first use and kept up to date by addItem/removeItem
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Map<String, CartItem> lines;
+
     public void addItem(CartItem item) {
         items.add(item);
         item.setCart(this);
+        if (lines != null) {
+            lines.putIfAbsent(item.lineKey(), item);
+        }
     }
 
     public void removeItem(CartItem item) {
         items.remove(item);
+        if (lines != null) {
+            lines.remove(item.lineKey(), item);
+        }
         item.setCart(null);
     }
+
+    // The line for this menu item and customizations, or null
+    public CartItem findLine(Long menuItemId, String customizations) {
+        if (lines == null) {
+            lines = new HashMap<>();
+            for (CartItem item : items) {
+                lines.putIfAbsent(item.lineKey(), item);
+            }
+        }
+        return lines.get(CartItem.lineKey(menuItemId, customizations));
+    }
+
+    // Call after changing an item's menu item or customizations
+    public void reindexLines() {
+        lines = null;
+    }
+
+    // Detached deep copy; CartStore hands these out so callers never share a cart
+    public Cart copy() {
+        Cart copy = new Cart();
+        copy.setId(id);
+        copy.setCustomerId(customerId);
+        copy.setRestaurantId(restaurantId);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        copy.setExpiresAt(expiresAt);
+        copy.setVersion(version);
+        for (CartItem item : items) {
+            copy.addItem(item.copy());
+        }
+        return copy;
+    }
 }
@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Entity
 @Table(name = "cart_items")
@@ -37,4 +39,31 @@ public class CartItem {
 
     @Column(length = 500)
     private String customizations;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Lines with the same key are one line: same menu item, customizations equal
+    // after trimming, collapsing whitespace and ignoring case
+    public static String lineKey(Long menuItemId, String customizations) {
+        String normalized = customizations == null
+                ? ""
+                : WHITESPACE.matcher(customizations.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return menuItemId + ":" + normalized;
+    }
+
+    public String lineKey() {
+        return lineKey(menuItemId, customizations);
+    }
+
+    // Copy without the cart back-reference; Cart.addItem sets it
+    public CartItem copy() {
+        CartItem copy = new CartItem();
+        copy.setId(id);
+        copy.setMenuItemId(menuItemId);
+        copy.setItemName(itemName);
+        copy.setQuantity(quantity);
+        copy.setPrice(price);
+        copy.setCustomizations(customizations);
+        return copy;
+    }
 }
@@ -0,0 +1,15 @@
+package com.fooddelivery.cartservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Just enough of a cart to answer a conditional GET, read without the items
+@Data
+@AllArgsConstructor
+public class CartVersion {
+    private Long cartId;
+    private long version;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,97 @@
+package com.fooddelivery.cartservice.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * EGP amount held as a whole number of piastres (1/100 pound).
+ *
+ * Cart totals run on this instead of BigDecimal: sums and quantities are
+ * plain long arithmetic (overflow-checked). Same type as order-service's
+ * Money; entities and DTOs keep BigDecimal with scale 2, converted with
+ * of(BigDecimal) and toBigDecimal() at the edges.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+    private static final long MINOR_PER_UNIT = 100;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    // Amounts with more than two decimals are rounded half-up to the piastre
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Reads a price out of a JSON-decoded map: Jackson gives Integer/Long for
+     * whole amounts and Double otherwise (BigDecimal if configured to).
+     */
+    public static Money fromJson(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ofMinor(Math.multiplyExact(((Number) value).longValue(), MINOR_PER_UNIT));
+        }
+        if (value instanceof Double) {
+            // Doubles from JSON are the nearest binary value to a 2-decimal literal,
+            // so rounding the scaled value recovers the literal
+            double amount = (Double) value;
+            if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+                throw new IllegalArgumentException("Invalid amount: " + value);
+            }
+            return ofMinor(Math.round(amount * MINOR_PER_UNIT));
+        }
+        if (value instanceof BigDecimal) {
+            return of((BigDecimal) value);
+        }
+        if (value instanceof String) {
+            return of(new BigDecimal((String) value));
+        }
+        throw new IllegalArgumentException("Invalid amount: " + value);
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(long quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
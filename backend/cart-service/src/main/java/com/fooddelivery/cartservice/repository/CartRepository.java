@@ -1,12 +1,50 @@
 package com.fooddelivery.cartservice.repository;
 
 import com.fooddelivery.cartservice.model.Cart;
+import com.fooddelivery.cartservice.model.CartVersion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByCustomerId(Long customerId);
+
+    // Cart together with its items
+    @EntityGraph(attributePaths = "items")
+    Optional<Cart> findWithItemsByCustomerId(Long customerId);
+
+    // Same, holding a row lock so instances sharing the database change a cart one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "items")
+    Optional<Cart> findForUpdateByCustomerId(Long customerId);
+
+    // Unique index lookup on customerId, without loading the items
+    @Query("SELECT new com.fooddelivery.cartservice.model.CartVersion(c.id, c.version, c.expiresAt) " +
+            "FROM Cart c WHERE c.customerId = :customerId")
+    Optional<CartVersion> findVersionByCustomerId(@Param("customerId") Long customerId);
+
+    // A batch of expired carts, locked until the sweep commits. Carts locked by a
+    // concurrent change or another instance's sweep are skipped (lock timeout -2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM Cart c WHERE c.expiresAt < :now ORDER BY c.expiresAt")
+    List<Cart> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,35 @@
+package com.fooddelivery.cartservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks shared by all customers. A customer always maps to the same
+ * stripe, so changes to one cart are serialized while different customers rarely
+ * wait on each other, without a lock object per customer.
+ */
+@Component
+public class CartLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public CartLocks(@Value("${cart.store.lock-stripes:256}") int stripeCount) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long customerId, Supplier<T> action) {
+        ReentrantLock lock = stripes[Math.floorMod(Long.hashCode(customerId), stripes.length)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
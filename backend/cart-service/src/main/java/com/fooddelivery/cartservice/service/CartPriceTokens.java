@@ -0,0 +1,58 @@
+package com.fooddelivery.cartservice.service;
+
+import com.fooddelivery.cartservice.dto.CartItemForOrderDTO;
+import com.fooddelivery.cartservice.model.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Signs the menu snapshot a checkout hands to order-service: the names and prices
+ * restaurant-service returned when the items were validated, plus when that was.
+ * order-service (its CartPriceTokens, same format and secret) skips fetching the
+ * menu again while the token is fresh. An empty secret disables the token.
+ */
+@Component
+public class CartPriceTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+
+    private final byte[] secret;
+
+    public CartPriceTokens(@Value("${cart.price-token.secret:}") String secret) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // null when disabled
+    public String sign(Long restaurantId, List<CartItemForOrderDTO> items) {
+        if (secret.length == 0) {
+            return null;
+        }
+
+        long issuedAt = System.currentTimeMillis();
+        StringBuilder payload = new StringBuilder()
+                .append(restaurantId).append('|').append(issuedAt);
+        for (CartItemForOrderDTO item : items) {
+            payload.append('|').append(item.getMenuItemId())
+                    .append(':').append(Money.of(item.getPrice()))
+                    .append(':').append(item.getItemName().length())
+                    .append(':').append(item.getItemName());
+        }
+
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            byte[] signature = mac.doFinal(payload.toString().getBytes(StandardCharsets.UTF_8));
+            return VERSION + "." + issuedAt + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign cart price token", e);
+        }
+    }
+}
@@ -9,15 +9,16 @@ import com.fooddelivery.cartservice.feign.OrderServiceClient;
 import com.fooddelivery.cartservice.feign.RestaurantServiceClient;
 import com.fooddelivery.cartservice.model.Cart;
 import com.fooddelivery.cartservice.model.CartItem;
-import com.fooddelivery.cartservice.repository.CartRepository;
-import com.fooddelivery.cartservice.repository.CartItemRepository;
+import com.fooddelivery.cartservice.model.Money;
 import feign.FeignException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -25,10 +26,7 @@ import java.util.stream.Collectors;
 public class CartService {
 
     @Autowired
-    private CartRepository cartRepository;
-
-    @Autowired
-    private CartItemRepository cartItemRepository;
+    private CartStore cartStore;
 
     @Autowired
     private RestaurantServiceClient restaurantServiceClient;
@@ -39,17 +37,18 @@ public class CartService {
     @Autowired
     private AuthServiceClient authServiceClient;
 
+    @Autowired
+    private CartPriceTokens cartPriceTokens;
+
     private static final int CART_TTL_HOURS = 24;
 
-    @Transactional(readOnly = true)
     public CartResponseDTO getCartByCustomerId(Long customerId) {
-        Cart cart = cartRepository.findByCustomerId(customerId)
+        Cart cart = cartStore.find(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Cart not found for customer: " + customerId));
 
         // Check if cart has expired
-        if (cart.getExpiresAt() != null &&
-                LocalDateTime.now().isAfter(cart.getExpiresAt())) {
+        if (isExpired(cart)) {
             // Clear expired cart
             clearCart(customerId);
             throw new ResourceNotFoundException("Cart has expired and been cleared");
@@ -58,139 +57,160 @@ public class CartService {
         return convertToResponseDTO(cart);
     }
 
-    @Transactional
+    // ETag of the customer's current cart, or null if there is none (or it has expired)
+    public String getCartETag(Long customerId) {
+        return cartStore.findVersion(customerId)
+                .filter(version -> version.getExpiresAt() == null
+                        || !LocalDateTime.now().isAfter(version.getExpiresAt()))
+                .map(version -> eTag(version.getCartId(), version.getVersion()))
+                .orElse(null);
+    }
+
+    // Cart ids are never reused, so a recreated cart can't repeat an old ETag
+    public static String eTag(Long cartId, long version) {
+        return "\"" + cartId + "-" + version + "\"";
+    }
+
     public CartResponseDTO addItemToCart(AddCartItemDTO dto, Long customerId) {
         // Validate menu item exists and is available
         Map<String, Object> menuItem = fetchMenuItem(dto.getRestaurantId(), dto.getMenuItemId());
         validateMenuItemAvailability(menuItem);
+        BigDecimal price = extractPrice(menuItem.get("price"));
 
-        Cart cart = cartRepository.findByCustomerId(customerId)
-                .orElse(createNewCart(customerId, dto.getRestaurantId()));
+        Cart savedCart = cartStore.update(customerId, current -> {
+            Cart cart = current != null ? current : createNewCart(customerId, dto.getRestaurantId());
 
-        // Enforce single-restaurant rule
-        if (!cart.getRestaurantId().equals(dto.getRestaurantId())) {
-            throw new BadRequestException(
-                    "Cannot add items from different restaurants. " +
-                            "Please clear your cart first or complete your current order."
-            );
-        }
-
-        // Check if item already exists in cart
-        CartItem existingItem = cart.getItems().stream()
-                .filter(item -> item.getMenuItemId().equals(dto.getMenuItemId()) &&
-                        isSameCustomization(item.getCustomizations(), dto.getCustomizations()))
-                .findFirst()
-                .orElse(null);
+            // Enforce single-restaurant rule
+            if (!cart.getRestaurantId().equals(dto.getRestaurantId())) {
+                throw new BadRequestException(
+                        "Cannot add items from different restaurants. " +
+                                "Please clear your cart first or complete your current order."
+                );
+            }
 
-        if (existingItem != null) {
-            // Update quantity if item exists
-            existingItem.setQuantity(existingItem.getQuantity() + dto.getQuantity());
-        } else {
-            // Add new item
-            CartItem newItem = new CartItem();
-            newItem.setMenuItemId(dto.getMenuItemId());
-            newItem.setItemName((String) menuItem.get("name"));
-            newItem.setQuantity(dto.getQuantity());
-            newItem.setPrice(extractPrice(menuItem.get("price")));
-            newItem.setCustomizations(dto.getCustomizations());
-            cart.addItem(newItem);
-        }
+            mergeItem(cart, dto, (String) menuItem.get("name"), price);
 
-        // Update expiry time
-        cart.setExpiresAt(LocalDateTime.now().plusHours(CART_TTL_HOURS));
+            touch(cart);
+            return cart;
+        });
 
-        Cart savedCart = cartRepository.save(cart);
         return convertToResponseDTO(savedCart);
     }
 
-    @Transactional
-    public CartResponseDTO updateCartItem(Long itemId, UpdateCartItemDTO dto, Long customerId) {
-        CartItem item = cartItemRepository.findById(itemId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Cart item not found: " + itemId));
-
-        // Verify ownership
-        if (!item.getCart().getCustomerId().equals(customerId)) {
-            throw new ForbiddenOperationException("You can only update items in your own cart");
+    // Same as addItemToCart for each entry, with one menu lookup and one cart update
+    public CartResponseDTO addItemsToCart(List<AddCartItemDTO> dtos, Long customerId) {
+        Long restaurantId = dtos.get(0).getRestaurantId();
+        for (AddCartItemDTO dto : dtos) {
+            if (!restaurantId.equals(dto.getRestaurantId())) {
+                throw new BadRequestException("All items must come from the same restaurant");
+            }
         }
 
-        item.setQuantity(dto.getQuantity());
-        if (dto.getCustomizations() != null) {
-            item.setCustomizations(dto.getCustomizations());
-        }
+        // Validate all menu items with one restaurant-service call
+        Map<Long, Map<String, Object>> menuItems = fetchMenuItems(
+                restaurantId,
+                dtos.stream().map(AddCartItemDTO::getMenuItemId).collect(Collectors.toList()));
+        menuItems.values().forEach(this::validateMenuItemAvailability);
+
+        Cart savedCart = cartStore.update(customerId, current -> {
+            Cart cart = current != null ? current : createNewCart(customerId, restaurantId);
+
+            // Enforce single-restaurant rule
+            if (!cart.getRestaurantId().equals(restaurantId)) {
+                throw new BadRequestException(
+                        "Cannot add items from different restaurants. " +
+                                "Please clear your cart first or complete your current order."
+                );
+            }
 
-        cartItemRepository.save(item);
+            for (AddCartItemDTO dto : dtos) {
+                Map<String, Object> menuItem = menuItems.get(dto.getMenuItemId());
+                mergeItem(cart, dto, (String) menuItem.get("name"), extractPrice(menuItem.get("price")));
+            }
 
-        Cart cart = item.getCart();
-        cart.setExpiresAt(LocalDateTime.now().plusHours(CART_TTL_HOURS));
-        cartRepository.save(cart);
+            touch(cart);
+            return cart;
+        });
 
-        return convertToResponseDTO(cart);
+        return convertToResponseDTO(savedCart);
     }
 
-    @Transactional
-    public CartResponseDTO removeItemFromCart(Long itemId, Long customerId) {
-        CartItem item = cartItemRepository.findById(itemId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Cart item not found: " + itemId));
+    public CartResponseDTO updateCartItem(Long itemId, UpdateCartItemDTO dto, Long customerId) {
+        // Only the customer's own cart is searched, so other carts' items are simply not found
+        Cart cart = cartStore.update(customerId, current -> {
+            CartItem item = findItem(current, itemId);
+
+            item.setQuantity(dto.getQuantity());
+            if (dto.getCustomizations() != null) {
+                CartItem sameLine = current.findLine(item.getMenuItemId(), dto.getCustomizations());
+                if (sameLine != null && sameLine != item) {
+                    // Now the same as another line: fold this one into it
+                    sameLine.setQuantity(sameLine.getQuantity() + item.getQuantity());
+                    current.removeItem(item);
+                } else {
+                    item.setCustomizations(dto.getCustomizations());
+                    current.reindexLines();
+                }
+            }
 
-        // Verify ownership
-        if (!item.getCart().getCustomerId().equals(customerId)) {
-            throw new ForbiddenOperationException("You can only remove items from your own cart");
-        }
+            touch(current);
+            return current;
+        });
 
-        Cart cart = item.getCart();
+        return convertToResponseDTO(cart);
+    }
 
-        // Update the relationship first
-        cart.removeItem(item);
+    public CartResponseDTO removeItemFromCart(Long itemId, Long customerId) {
+        Cart saved = cartStore.update(customerId, current -> {
+            CartItem item = findItem(current, itemId);
+            current.removeItem(item);
 
-        // Delete the item row
-        cartItemRepository.delete(item);
+            // If cart is empty, delete it
+            if (current.getItems().isEmpty()) {
+                return null;
+            }
 
-        // If cart is empty, delete cart and return null (NO EXCEPTION!)
-        if (cart.getItems().isEmpty()) {
-            cartRepository.delete(cart);
+            touch(current);
+            return current;
+        });
+
+        // Cart deleted because it became empty (NO EXCEPTION!)
+        if (saved == null) {
             return null;
         }
 
-        cart.setExpiresAt(LocalDateTime.now().plusHours(CART_TTL_HOURS));
-        Cart saved = cartRepository.save(cart);
-
         return convertToResponseDTO(saved);
     }
 
-    @Transactional
     public void clearCart(Long customerId) {
-        Cart cart = cartRepository.findByCustomerId(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Cart not found for customer: " + customerId));
-
-        cartRepository.delete(cart);
+        cartStore.update(customerId, current -> {
+            if (current == null) {
+                throw new ResourceNotFoundException("Cart not found for customer: " + customerId);
+            }
+            return null;
+        });
     }
 
-    @Transactional
     public OrderResponseDTO checkout(CheckoutRequestDTO dto, Long customerId) {
-        Cart cart = cartRepository.findByCustomerId(customerId)
+        Cart cart = cartStore.find(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Cart is empty. Cannot checkout."));
 
         // Check if cart has expired
-        if (cart.getExpiresAt() != null &&
-                LocalDateTime.now().isAfter(cart.getExpiresAt())) {
-            cartRepository.delete(cart);
+        if (isExpired(cart)) {
+            clearCart(customerId);
+            cartStore.flush(customerId);
             throw new BadRequestException("Cart has expired. Please add items again.");
         }
 
         // Address Validation
         validateAddressOwnership(dto.getDeliveryAddressId(), customerId);
 
-        // Verify all items are still available
-        for (CartItem item : cart.getItems()) {
-            Map<String, Object> menuItem = fetchMenuItem(
-                    cart.getRestaurantId(),
-                    item.getMenuItemId());
-            validateMenuItemAvailability(menuItem);
-        }
+        // Verify all items are still available, with one restaurant-service call
+        Map<Long, Map<String, Object>> menuItems = fetchMenuItems(
+                cart.getRestaurantId(),
+                cart.getItems().stream().map(CartItem::getMenuItemId).collect(Collectors.toList()));
+        menuItems.values().forEach(this::validateMenuItemAvailability);
 
         // Build order creation DTO
         CreateOrderFromCartDTO orderDTO = new CreateOrderFromCartDTO();
@@ -199,21 +219,63 @@ public class CartService {
         orderDTO.setDeliveryAddressId(dto.getDeliveryAddressId());
         orderDTO.setSpecialInstructions(dto.getSpecialInstructions());
         orderDTO.setItems(cart.getItems().stream()
-                .map(item -> new CartItemForOrderDTO(
-                        item.getMenuItemId(),
-                        item.getQuantity(),
-                        item.getCustomizations()))
+                .map(item -> {
+                    Map<String, Object> menuItem = menuItems.get(item.getMenuItemId());
+                    return new CartItemForOrderDTO(
+                            item.getMenuItemId(),
+                            item.getQuantity(),
+                            item.getCustomizations(),
+                            (String) menuItem.get("name"),
+                            extractPrice(menuItem.get("price")));
+                })
                 .collect(Collectors.toList()));
+        // Lets order-service use these names and prices instead of fetching the menu again
+        orderDTO.setPriceToken(cartPriceTokens.sign(cart.getRestaurantId(), orderDTO.getItems()));
 
-        // Call order-service internal endpoint
-        OrderResponseDTO order = orderServiceClient.createOrderFromCart(orderDTO, "true");
+        // Call order-service internal endpoint. The cart id and version are the idempotency key, so a
+        // retried checkout whose first call created the order (but whose cart delete failed) gets that
+        // order back, while items left in the cart after a checkout are ordered under a new key.
+        OrderResponseDTO order = orderServiceClient.createOrderFromCart(
+                orderDTO, "true", "cart-" + cart.getId() + "-" + cart.getVersion());
 
-        // Clear cart after successful order creation
-        cartRepository.delete(cart);
+        // Clear what was ordered and write that through; a cart started meanwhile, or items
+        // added while the order was being placed, are kept
+        cartStore.update(customerId, current -> removeOrdered(current, cart));
+        cartStore.flush(customerId);
 
         return order;
     }
 
+    private Cart removeOrdered(Cart current, Cart ordered) {
+        if (current == null || !current.getId().equals(ordered.getId())) {
+            return current;
+        }
+        // Unchanged since it was read: all of it was ordered
+        if (current.getVersion() == ordered.getVersion()) {
+            return null;
+        }
+
+        for (CartItem orderedItem : ordered.getItems()) {
+            current.getItems().stream()
+                    .filter(item -> item.getId().equals(orderedItem.getId()))
+                    .findFirst()
+                    .ifPresent(item -> {
+                        int left = item.getQuantity() - orderedItem.getQuantity();
+                        if (left > 0) {
+                            item.setQuantity(left);
+                        } else {
+                            current.removeItem(item);
+                        }
+                    });
+        }
+
+        if (current.getItems().isEmpty()) {
+            return null;
+        }
+        touch(current);
+        return current;
+    }
+
     // User address Validation
     private void validateAddressOwnership(Long addressId, Long userId) {
         try {
@@ -236,14 +298,57 @@ public class CartService {
         }
     }
 
+    // Adds to the quantity of a line with the same item and customizations, or adds a new line
+    private void mergeItem(Cart cart, AddCartItemDTO dto, String itemName, BigDecimal price) {
+        // Check if item already exists in cart
+        CartItem existingItem = cart.findLine(dto.getMenuItemId(), dto.getCustomizations());
+
+        if (existingItem != null) {
+            // Update quantity if item exists
+            existingItem.setQuantity(existingItem.getQuantity() + dto.getQuantity());
+        } else {
+            // Add new item
+            CartItem newItem = new CartItem();
+            newItem.setMenuItemId(dto.getMenuItemId());
+            newItem.setItemName(itemName);
+            newItem.setQuantity(dto.getQuantity());
+            newItem.setPrice(price);
+            newItem.setCustomizations(dto.getCustomizations());
+            cart.addItem(newItem);
+        }
+    }
+
     private Cart createNewCart(Long customerId, Long restaurantId) {
         Cart cart = new Cart();
         cart.setCustomerId(customerId);
         cart.setRestaurantId(restaurantId);
-        cart.setExpiresAt(LocalDateTime.now().plusHours(CART_TTL_HOURS));
+        cart.setCreatedAt(LocalDateTime.now());
+        touch(cart);
         return cart;
     }
 
+    // Every change extends the cart's lifetime
+    private void touch(Cart cart) {
+        LocalDateTime now = LocalDateTime.now();
+        cart.setUpdatedAt(now);
+        cart.setExpiresAt(now.plusHours(CART_TTL_HOURS));
+    }
+
+    private boolean isExpired(Cart cart) {
+        return cart.getExpiresAt() != null && LocalDateTime.now().isAfter(cart.getExpiresAt());
+    }
+
+    private CartItem findItem(Cart cart, Long itemId) {
+        if (cart != null) {
+            for (CartItem item : cart.getItems()) {
+                if (item.getId().equals(itemId)) {
+                    return item;
+                }
+            }
+        }
+        throw new ResourceNotFoundException("Cart item not found: " + itemId);
+    }
+
     private Map<String, Object> fetchMenuItem(Long restaurantId, Long menuItemId) {
         try {
             return restaurantServiceClient.getMenuItem(restaurantId, menuItemId);
@@ -253,6 +358,35 @@ public class CartService {
         }
     }
 
+    // Menu items by id; fails if any of them doesn't belong to the restaurant
+    private Map<Long, Map<String, Object>> fetchMenuItems(Long restaurantId, Collection<Long> menuItemIds) {
+        List<Long> distinctIds = menuItemIds.stream().distinct().collect(Collectors.toList());
+
+        List<Map<String, Object>> response;
+        try {
+            response = restaurantServiceClient.getMenuItems(restaurantId, distinctIds);
+        } catch (Exception e) {
+            throw new BadRequestException(
+                    "Unable to load menu items for restaurant " + restaurantId + ". Please try again.");
+        }
+
+        Map<Long, Map<String, Object>> menuItems = new HashMap<>();
+        for (Map<String, Object> menuItem : response) {
+            Object idObj = menuItem.get("id");
+            if (idObj instanceof Number) {
+                menuItems.put(((Number) idObj).longValue(), menuItem);
+            }
+        }
+
+        for (Long menuItemId : distinctIds) {
+            if (!menuItems.containsKey(menuItemId)) {
+                throw new BadRequestException(
+                        "Menu item " + menuItemId + " not found in restaurant " + restaurantId);
+            }
+        }
+        return menuItems;
+    }
+
     private void validateMenuItemAvailability(Map<String, Object> menuItem) {
         Boolean isAvailable = (Boolean) menuItem.get("isAvailable");
         if (isAvailable == null || !isAvailable) {
@@ -262,20 +396,11 @@ public class CartService {
     }
 
     private BigDecimal extractPrice(Object priceObj) {
-        if (priceObj instanceof Double) {
-            return BigDecimal.valueOf((Double) priceObj);
-        } else if (priceObj instanceof Integer) {
-            return BigDecimal.valueOf((Integer) priceObj);
-        } else if (priceObj instanceof BigDecimal) {
-            return (BigDecimal) priceObj;
+        try {
+            return Money.fromJson(priceObj).toBigDecimal();
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid price format");
         }
-        throw new BadRequestException("Invalid price format");
-    }
-
-    private boolean isSameCustomization(String custom1, String custom2) {
-        if (custom1 == null && custom2 == null) return true;
-        if (custom1 == null || custom2 == null) return false;
-        return custom1.equals(custom2);
     }
 
     private CartResponseDTO convertToResponseDTO(Cart cart) {
@@ -303,6 +428,7 @@ public class CartService {
         dto.setCreatedAt(cart.getCreatedAt());
         dto.setUpdatedAt(cart.getUpdatedAt());
         dto.setExpiresAt(cart.getExpiresAt());
+        dto.setVersion(cart.getVersion());
 
         return dto;
     }
@@ -314,14 +440,20 @@ public class CartService {
         dto.setItemName(item.getItemName());
         dto.setQuantity(item.getQuantity());
         dto.setPrice(item.getPrice());
-        dto.setItemTotal(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        dto.setItemTotal(itemTotal(item).toBigDecimal());
         dto.setCustomizations(item.getCustomizations());
         return dto;
     }
 
     private BigDecimal calculateSubtotal(Cart cart) {
-        return cart.getItems().stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Money subtotal = Money.ZERO;
+        for (CartItem item : cart.getItems()) {
+            subtotal = subtotal.plus(itemTotal(item));
+        }
+        return subtotal.toBigDecimal();
+    }
+
+    private Money itemTotal(CartItem item) {
+        return Money.of(item.getPrice()).times(item.getQuantity());
     }
 }
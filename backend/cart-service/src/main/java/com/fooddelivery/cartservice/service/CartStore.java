@@ -0,0 +1,34 @@
+package com.fooddelivery.cartservice.service;
+
+import com.fooddelivery.cartservice.model.Cart;
+import com.fooddelivery.cartservice.model.CartVersion;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Where carts live between requests. Selected with cart.store.engine:
+ * "memory" (InMemoryCartStore, write-behind to MySQL) or "jpa" (JpaCartStore,
+ * every change written straight away).
+ *
+ * Carts returned by a store are private copies; change a cart only through update().
+ */
+public interface CartStore {
+
+    Optional<Cart> find(Long customerId);
+
+    // Id, version and expiry of the customer's cart, without copying or loading its items
+    Optional<CartVersion> findVersion(Long customerId);
+
+    /**
+     * Applies a change to the customer's cart while holding the customer's lock.
+     * The mutation gets the current cart (null if there is none) and returns the
+     * cart to keep, or null to delete it. An exception from the mutation leaves
+     * the stored cart unchanged. A kept cart's version is incremented.
+     * Returns a copy of the kept cart, or null.
+     */
+    Cart update(Long customerId, UnaryOperator<Cart> mutation);
+
+    // Writes any pending change of this customer's cart to the database now
+    void flush(Long customerId);
+}
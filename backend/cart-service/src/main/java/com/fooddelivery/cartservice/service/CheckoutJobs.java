@@ -0,0 +1,159 @@
+package com.fooddelivery.cartservice.service;
+
+import com.fooddelivery.cartservice.dto.CheckoutJobDTO;
+import com.fooddelivery.cartservice.dto.CheckoutRequestDTO;
+import com.fooddelivery.cartservice.dto.OrderResponseDTO;
+import com.fooddelivery.cartservice.exception.BadRequestException;
+import com.fooddelivery.cartservice.exception.ForbiddenOperationException;
+import com.fooddelivery.cartservice.exception.ResourceNotFoundException;
+import com.fooddelivery.cartservice.exception.ServiceUnavailableException;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asynchronous checkout: POST /cart/checkout with "Prefer: respond-async" queues a
+ * job on the checkoutExecutor and answers 202 right away; the job's outcome is read
+ * from GET /cart/checkout/{jobId}.
+ *
+ * A customer has at most one job in flight; submitting again while it runs returns
+ * that job. A failed checkout leaves the cart in place, and checkout is idempotent
+ * per cart version on the order-service side, so a retriable failure can simply be
+ * submitted again. When all workers are busy and the queue is full, a submission is
+ * refused with 503 and Retry-After instead of tying up the request thread.
+ *
+ * Finished jobs are kept for cart.checkout.job-ttl-minutes. Jobs live in this
+ * instance's memory, so polls must reach the instance that took the job.
+ */
+@Component
+@Slf4j
+public class CheckoutJobs {
+
+    private final CartService cartService;
+    private final ThreadPoolTaskExecutor executor;
+    private final long jobTtlMinutes;
+    private final long retryAfterSeconds;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Job> activeJobs = new ConcurrentHashMap<>();
+
+    public CheckoutJobs(
+            CartService cartService,
+            @Qualifier("checkoutExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${cart.checkout.job-ttl-minutes:15}") long jobTtlMinutes,
+            @Value("${cart.checkout.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.cartService = cartService;
+        this.executor = executor;
+        this.jobTtlMinutes = jobTtlMinutes;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public CheckoutJobDTO submit(CheckoutRequestDTO request, Long customerId) {
+        Job job = new Job(UUID.randomUUID().toString(), customerId);
+
+        // A checkout of this cart is already under way
+        Job active = activeJobs.putIfAbsent(customerId, job);
+        if (active != null) {
+            return active.toDTO();
+        }
+
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, request));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            activeJobs.remove(customerId, job);
+            throw new ServiceUnavailableException(
+                    "Too many checkouts in progress. Please try again shortly.", retryAfterSeconds);
+        }
+        return job.toDTO();
+    }
+
+    public CheckoutJobDTO getJob(String jobId, Long customerId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.customerId.equals(customerId)) {
+            throw new ResourceNotFoundException("Checkout job not found: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    @Scheduled(fixedDelayString = "${cart.checkout.cleanup-interval-ms:60000}")
+    public void evictFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobTtlMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.updatedAt.isBefore(cutoff));
+    }
+
+    private void run(Job job, CheckoutRequestDTO request) {
+        job.update(CheckoutJobDTO.Status.RUNNING);
+        CheckoutJobDTO.Status outcome;
+        try {
+            job.order = cartService.checkout(request, job.customerId);
+            outcome = CheckoutJobDTO.Status.SUCCEEDED;
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.retriable = isRetriable(e);
+            outcome = CheckoutJobDTO.Status.FAILED;
+            log.warn("Checkout job {} of customer {} failed (retriable: {}): {}",
+                    job.id, job.customerId, job.retriable, e.getMessage());
+        }
+
+        // Released before the outcome is visible, so a client that sees it can submit again at once
+        activeJobs.remove(job.customerId, job);
+        job.update(outcome);
+    }
+
+    // Problems with the cart or the request fail the same way again; outages and timeouts may not
+    private boolean isRetriable(RuntimeException e) {
+        if (e instanceof BadRequestException
+                || e instanceof ResourceNotFoundException
+                || e instanceof ForbiddenOperationException) {
+            return false;
+        }
+        if (e instanceof FeignException) {
+            int status = ((FeignException) e).status();
+            return status < 400 || status >= 500 || status == 409 || status == 429;
+        }
+        return true;
+    }
+
+    // Written by one worker thread; the volatile status publishes order/error to readers
+    private static final class Job {
+        private final String id;
+        private final Long customerId;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile LocalDateTime updatedAt = createdAt;
+        private volatile CheckoutJobDTO.Status status = CheckoutJobDTO.Status.PENDING;
+        private OrderResponseDTO order;
+        private String error;
+        private Boolean retriable;
+
+        private Job(String id, Long customerId) {
+            this.id = id;
+            this.customerId = customerId;
+        }
+
+        private void update(CheckoutJobDTO.Status status) {
+            this.updatedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private boolean isFinished() {
+            return status == CheckoutJobDTO.Status.SUCCEEDED || status == CheckoutJobDTO.Status.FAILED;
+        }
+
+        private CheckoutJobDTO toDTO() {
+            CheckoutJobDTO.Status current = status;
+            return new CheckoutJobDTO(id, current, order, error, retriable, createdAt, updatedAt);
+        }
+    }
+}
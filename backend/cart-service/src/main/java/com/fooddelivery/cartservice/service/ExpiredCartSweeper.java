@@ -0,0 +1,101 @@
+package com.fooddelivery.cartservice.service;
+
+import com.fooddelivery.cartservice.model.Cart;
+import com.fooddelivery.cartservice.repository.CartItemRepository;
+import com.fooddelivery.cartservice.repository.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Deletes carts whose expiresAt has passed, so abandoned carts don't pile up.
+ *
+ * Each batch is one short transaction: lock up to cart.sweeper.batch-size expired
+ * carts (skipping locked ones), then two set-based DELETEs for their items and the
+ * carts. A run stops after cart.sweeper.max-batches-per-run batches and reports the
+ * rows removed and its duration in the log and as cart.sweeper.* metrics.
+ */
+@Component
+@Slf4j
+public class ExpiredCartSweeper {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter cartsDeleted;
+    private final Counter itemsDeleted;
+    private final Timer runTimer;
+
+    public ExpiredCartSweeper(
+            CartRepository cartRepository,
+            CartItemRepository cartItemRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${cart.sweeper.batch-size:500}") int batchSize,
+            @Value("${cart.sweeper.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.cartsDeleted = Counter.builder("cart.sweeper.deleted").tag("table", "carts").register(meterRegistry);
+        this.itemsDeleted = Counter.builder("cart.sweeper.deleted").tag("table", "cart_items").register(meterRegistry);
+        this.runTimer = Timer.builder("cart.sweeper.run").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.sweeper.interval-ms:300000}",
+            initialDelayString = "${cart.sweeper.initial-delay-ms:60000}")
+    public void sweep() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int carts = 0;
+        int items = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int[] deleted = transactionTemplate.execute(status -> sweepBatch(now));
+            if (deleted == null || deleted[0] == 0) {
+                break;
+            }
+            carts += deleted[0];
+            items += deleted[1];
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        runTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        cartsDeleted.increment(carts);
+        itemsDeleted.increment(items);
+
+        if (carts > 0) {
+            log.info("Swept {} expired carts and {} cart items in {} ms",
+                    carts, items, elapsedNanos / 1_000_000);
+        }
+    }
+
+    // Returns {carts deleted, items deleted}
+    private int[] sweepBatch(LocalDateTime now) {
+        List<Long> cartIds = cartRepository.findExpiredForUpdate(now, PageRequest.of(0, batchSize)).stream()
+                .map(Cart::getId)
+                .collect(Collectors.toList());
+        if (cartIds.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        int items = cartItemRepository.deleteByCartIdIn(cartIds);
+        int carts = cartRepository.deleteByIdIn(cartIds);
+        return new int[]{carts, items};
+    }
+}
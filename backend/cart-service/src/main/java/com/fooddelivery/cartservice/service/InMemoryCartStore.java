@@ -0,0 +1,223 @@
+package com.fooddelivery.cartservice.service;
+
+import com.fooddelivery.cartservice.model.Cart;
+import com.fooddelivery.cartservice.model.CartVersion;
+import com.fooddelivery.cartservice.repository.CartRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Hot tier for carts: each customer's cart is kept in memory, loaded from MySQL on
+ * first use, and changed under the customer's CartLocks stripe, so cart requests
+ * don't touch the database.
+ *
+ * Changed carts are written behind every cart.store.flush-interval-ms, and right
+ * away on checkout. However many changes a cart got in between, a flush writes it
+ * once. A change that adds a cart or a line is written through at once instead,
+ * since the database generates their ids and responses need them. Flushing a cart holds its lock, so writes of one cart never overtake each
+ * other. Clean carts idle for cart.store.idle-minutes are dropped from memory.
+ *
+ * A cart is owned by whichever instance holds it, so with several cart-service
+ * instances requests must be routed by customer; otherwise use the jpa engine.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store.engine", havingValue = "memory")
+@Slf4j
+public class InMemoryCartStore implements CartStore {
+
+    private final CartRepository cartRepository;
+    private final CartLocks locks;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final long idleNanos;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyCustomers = ConcurrentHashMap.newKeySet();
+
+    public InMemoryCartStore(
+            CartRepository cartRepository,
+            CartLocks locks,
+            PlatformTransactionManager transactionManager,
+            @Value("${cart.store.idle-minutes:30}") long idleMinutes) {
+        this.cartRepository = cartRepository;
+        this.locks = locks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.idleNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+    }
+
+    @Override
+    public Optional<Cart> find(Long customerId) {
+        return locks.withLock(customerId, () -> {
+            Entry entry = load(customerId);
+            return Optional.ofNullable(entry.cart).map(Cart::copy);
+        });
+    }
+
+    @Override
+    public Optional<CartVersion> findVersion(Long customerId) {
+        return locks.withLock(customerId, () -> {
+            Cart cart = load(customerId).cart;
+            return cart != null
+                    ? Optional.of(new CartVersion(cart.getId(), cart.getVersion(), cart.getExpiresAt()))
+                    : Optional.empty();
+        });
+    }
+
+    @Override
+    public Cart update(Long customerId, UnaryOperator<Cart> mutation) {
+        return locks.withLock(customerId, () -> {
+            Entry entry = load(customerId);
+
+            // Work on a copy so a failing mutation leaves the stored cart as it was
+            Cart updated = mutation.apply(entry.cart != null ? entry.cart.copy() : null);
+            if (updated == null && entry.cart == null) {
+                return null;
+            }
+            if (updated != null) {
+                updated.setVersion(updated.getVersion() + 1);
+            }
+
+            Cart previous = entry.cart;
+            boolean wasDirty = entry.dirty;
+            entry.cart = updated;
+            entry.dirty = true;
+            dirtyCustomers.add(customerId);
+
+            if (updated != null && hasNewRows(updated)) {
+                try {
+                    writeBehind(customerId);
+                } catch (RuntimeException e) {
+                    // Not written, so not made either
+                    entry.cart = previous;
+                    entry.dirty = wasDirty;
+                    throw e;
+                }
+            }
+            return entry.cart != null ? entry.cart.copy() : null;
+        });
+    }
+
+    @Override
+    public void flush(Long customerId) {
+        locks.withLock(customerId, () -> writeBehind(customerId));
+    }
+
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:5000}")
+    public void flushDirty() {
+        long started = System.nanoTime();
+        int flushed = 0;
+
+        for (Long customerId : new ArrayList<>(dirtyCustomers)) {
+            try {
+                if (locks.withLock(customerId, () -> writeBehind(customerId))) {
+                    flushed++;
+                }
+            } catch (RuntimeException e) {
+                // Still dirty; the next run tries again
+                log.warn("Failed to flush cart of customer {}: {}", customerId, e.getMessage());
+            }
+        }
+
+        evictIdle();
+
+        if (flushed > 0) {
+            log.debug("Flushed {} carts in {} ms", flushed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDirty();
+    }
+
+    // Loads the customer's cart into memory on first use; "no cart" is remembered too
+    private Entry load(Long customerId) {
+        Entry entry = entries.get(customerId);
+        if (entry == null) {
+            Cart cart = readOnlyTransactionTemplate.execute(status ->
+                    cartRepository.findWithItemsByCustomerId(customerId).map(Cart::copy).orElse(null));
+            entry = new Entry(cart);
+            entries.put(customerId, entry);
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        return entry;
+    }
+
+    // Caller holds the customer's lock. Returns whether anything was written.
+    private boolean writeBehind(Long customerId) {
+        Entry entry = entries.get(customerId);
+        if (entry == null || !entry.dirty) {
+            dirtyCustomers.remove(customerId);
+            return false;
+        }
+
+        Cart cart = entry.cart != null ? entry.cart.copy() : null;
+        Cart written = transactionTemplate.execute(status -> {
+            Cart stored = cartRepository.findWithItemsByCustomerId(customerId).orElse(null);
+            if (stored != null && (cart == null || !stored.getId().equals(cart.getId()))) {
+                cartRepository.delete(stored);
+                cartRepository.flush(); // Before the insert below, which reuses the customerId
+            }
+            // Merges: inserts or updates the cart and its items, deletes removed items
+            return cart != null ? cartRepository.save(cart).copy() : null;
+        });
+
+        entry.cart = written; // With the generated ids of new rows
+        entry.dirty = false;
+        dirtyCustomers.remove(customerId);
+        return true;
+    }
+
+    private boolean hasNewRows(Cart cart) {
+        return cart.getId() == null || cart.getItems().stream().anyMatch(item -> item.getId() == null);
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        List<Long> idle = new ArrayList<>();
+        entries.forEach((customerId, entry) -> {
+            if (!entry.dirty && now - entry.lastAccessNanos > idleNanos) {
+                idle.add(customerId);
+            }
+        });
+
+        for (Long customerId : idle) {
+            locks.withLock(customerId, () -> {
+                Entry entry = entries.get(customerId);
+                if (entry != null && !entry.dirty && now - entry.lastAccessNanos > idleNanos) {
+                    entries.remove(customerId);
+                }
+                return null;
+            });
+        }
+    }
+
+    // Guarded by the customer's lock
+    private static final class Entry {
+        private Cart cart; // null: the customer has no cart
+        private boolean dirty;
+        private long lastAccessNanos;
+
+        private Entry(Cart cart) {
+            this.cart = cart;
+        }
+    }
+}
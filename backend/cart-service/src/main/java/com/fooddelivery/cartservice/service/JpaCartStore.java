@@ -0,0 +1,86 @@
+package com.fooddelivery.cartservice.service;
+
+import com.fooddelivery.cartservice.model.Cart;
+import com.fooddelivery.cartservice.model.CartVersion;
+import com.fooddelivery.cartservice.repository.CartRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reads and writes MySQL on every call, the behaviour before the in-memory store.
+ *
+ * Safe with several instances: an existing cart is changed under a row lock. If
+ * another instance creates the customer's cart between our read and our insert,
+ * the insert fails on the unique customer_id; the change is then applied again,
+ * in a new transaction, to the cart that instance created.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaCartStore implements CartStore {
+
+    private final CartRepository cartRepository;
+    private final CartLocks locks;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public JpaCartStore(
+            CartRepository cartRepository,
+            CartLocks locks,
+            PlatformTransactionManager transactionManager) {
+        this.cartRepository = cartRepository;
+        this.locks = locks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public Optional<Cart> find(Long customerId) {
+        return readOnlyTransactionTemplate.execute(status ->
+                cartRepository.findWithItemsByCustomerId(customerId).map(Cart::copy));
+    }
+
+    @Override
+    public Optional<CartVersion> findVersion(Long customerId) {
+        return cartRepository.findVersionByCustomerId(customerId);
+    }
+
+    @Override
+    public Cart update(Long customerId, UnaryOperator<Cart> mutation) {
+        return locks.withLock(customerId, () -> {
+            try {
+                return transactionTemplate.execute(status -> apply(customerId, mutation));
+            } catch (DataIntegrityViolationException e) {
+                // Created by another instance meanwhile: re-read it (now locked) and change that one
+                return transactionTemplate.execute(status -> apply(customerId, mutation));
+            }
+        });
+    }
+
+    @Override
+    public void flush(Long customerId) {
+        // Nothing is pending
+    }
+
+    private Cart apply(Long customerId, UnaryOperator<Cart> mutation) {
+        Cart current = cartRepository.findForUpdateByCustomerId(customerId).orElse(null);
+        Cart updated = mutation.apply(current);
+
+        if (updated == null) {
+            if (current != null) {
+                cartRepository.delete(current);
+            }
+            return null;
+        }
+
+        updated.setVersion(updated.getVersion() + 1);
+        // Flushed here so a duplicate customer_id fails inside the transaction, not at commit
+        return cartRepository.saveAndFlush(updated).copy();
+    }
+}
@@ -0,0 +1,62 @@
+package com.fooddelivery.cartservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTests {
+
+    @Test
+    void ofRoundsHalfUpToThePiastre() {
+        assertEquals(Money.ofMinor(101), Money.of(new BigDecimal("1.005")));
+        assertEquals(Money.ofMinor(100), Money.of(new BigDecimal("1.0049")));
+        assertEquals(Money.ofMinor(-101), Money.of(new BigDecimal("-1.005")));
+        assertEquals("12.30", Money.of(new BigDecimal("12.3")).toString());
+    }
+
+    @Test
+    void fromJsonReadsIntegerLongDoubleBigDecimalAndString() {
+        assertEquals(Money.ofMinor(4500), Money.fromJson(45));
+        assertEquals(Money.ofMinor(4500), Money.fromJson(45L));
+        assertEquals(Money.ofMinor(4599), Money.fromJson(45.99));
+        // 0.29 * 100 is 28.999999999999996 as a double
+        assertEquals(Money.ofMinor(29), Money.fromJson(0.29));
+        assertEquals(Money.ofMinor(-1050), Money.fromJson(-10.5));
+        assertEquals(Money.ofMinor(1999), Money.fromJson(new BigDecimal("19.99")));
+        assertEquals(Money.ofMinor(1999), Money.fromJson("19.99"));
+        assertEquals(Money.ofMinor(2000), Money.fromJson("19.995"));
+    }
+
+    @Test
+    void fromJsonRejectsWhatIsNotAnAmount() {
+        assertThrows(IllegalArgumentException.class, () -> Money.fromJson(null));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromJson(true));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromJson(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromJson(Double.POSITIVE_INFINITY));
+        assertThrows(NumberFormatException.class, () -> Money.fromJson("ten"));
+    }
+
+    @Test
+    void arithmeticHandlesNegativeAmounts() {
+        Money refund = Money.ofMinor(-1250);
+
+        assertEquals(Money.ofMinor(-250), refund.plus(Money.ofMinor(1000)));
+        assertEquals(Money.ofMinor(-3750), refund.times(3));
+        assertEquals(new BigDecimal("-12.50"), refund.toBigDecimal());
+        assertEquals(-1, refund.compareTo(Money.ZERO));
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> Money.fromJson(Long.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e20")));
+        assertThrows(ArithmeticException.class, () -> Money.fromJson("92233720368547758.08"));
+    }
+}
@@ -0,0 +1,171 @@
+package com.fooddelivery.cartservice.service;
+
+import com.fooddelivery.cartservice.dto.CheckoutRequestDTO;
+import com.fooddelivery.cartservice.dto.OrderResponseDTO;
+import com.fooddelivery.cartservice.feign.AuthServiceClient;
+import com.fooddelivery.cartservice.feign.OrderServiceClient;
+import com.fooddelivery.cartservice.feign.RestaurantServiceClient;
+import com.fooddelivery.cartservice.model.Cart;
+import com.fooddelivery.cartservice.model.CartItem;
+import com.fooddelivery.cartservice.model.CartVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CartServiceTests {
+
+    private static final Long CUSTOMER_ID = 3L;
+    private static final Long RESTAURANT_ID = 7L;
+
+    @Spy
+    private SingleCartStore cartStore = new SingleCartStore();
+
+    @Mock
+    private RestaurantServiceClient restaurantServiceClient;
+
+    @Mock
+    private OrderServiceClient orderServiceClient;
+
+    @Mock
+    private AuthServiceClient authServiceClient;
+
+    @Mock
+    private CartPriceTokens cartPriceTokens;
+
+    @InjectMocks
+    private CartService cartService;
+
+    @BeforeEach
+    void setUp() {
+        cartStore.cart = cart();
+        when(authServiceClient.verifyAddressOwnership(anyLong(), anyLong(), eq("true"))).thenReturn(true);
+        when(restaurantServiceClient.getMenuItems(eq(RESTAURANT_ID), anyList())).thenReturn(List.of(
+                Map.of("id", 100, "name", "Koshari", "price", 50.0, "isAvailable", true),
+                Map.of("id", 101, "name", "Hawawshi", "price", 60.0, "isAvailable", true)));
+        when(cartPriceTokens.sign(eq(RESTAURANT_ID), anyList())).thenReturn("v1.1000.token");
+    }
+
+    @Test
+    void checkoutOfAnUnchangedCartDeletesIt() {
+        when(orderServiceClient.createOrderFromCart(any(), eq("true"), any())).thenReturn(order(500L));
+
+        cartService.checkout(new CheckoutRequestDTO(11L, null), CUSTOMER_ID);
+
+        assertTrue(cartStore.find(CUSTOMER_ID).isEmpty());
+    }
+
+    // The customer adds items while the order is being placed: those stay in the cart,
+    // and checking them out is a new request under a new idempotency key
+    @Test
+    void itemsAddedDuringCheckoutAreKeptAndOrderedUnderANewKey() {
+        when(orderServiceClient.createOrderFromCart(any(), eq("true"), any()))
+                .thenAnswer(invocation -> {
+                    cartStore.update(CUSTOMER_ID, current -> {
+                        current.getItems().get(0).setQuantity(3);
+                        current.addItem(item(44L, 101L, "Hawawshi", 1, "60.00"));
+                        return current;
+                    });
+                    return order(500L);
+                })
+                .thenReturn(order(501L));
+
+        cartService.checkout(new CheckoutRequestDTO(11L, null), CUSTOMER_ID);
+
+        Cart left = cartStore.find(CUSTOMER_ID).orElseThrow();
+        assertEquals(42L, left.getId());
+        assertEquals(2, left.getItems().size());
+        assertEquals(1, left.getItems().get(0).getQuantity());
+        assertEquals(44L, left.getItems().get(1).getId());
+
+        cartService.checkout(new CheckoutRequestDTO(11L, null), CUSTOMER_ID);
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(orderServiceClient, times(2)).createOrderFromCart(any(), eq("true"), keys.capture());
+        assertEquals(List.of("cart-42-1", "cart-42-3"), keys.getAllValues());
+        assertTrue(cartStore.find(CUSTOMER_ID).isEmpty());
+    }
+
+    private OrderResponseDTO order(Long id) {
+        OrderResponseDTO order = new OrderResponseDTO();
+        order.setId(id);
+        return order;
+    }
+
+    private Cart cart() {
+        Cart cart = new Cart();
+        cart.setId(42L);
+        cart.setCustomerId(CUSTOMER_ID);
+        cart.setRestaurantId(RESTAURANT_ID);
+        cart.setCreatedAt(LocalDateTime.now());
+        cart.setExpiresAt(LocalDateTime.now().plusHours(1));
+        cart.setVersion(1);
+        cart.addItem(item(43L, 100L, "Koshari", 2, "50.00"));
+        return cart;
+    }
+
+    private CartItem item(Long id, Long menuItemId, String name, int quantity, String price) {
+        CartItem item = new CartItem();
+        item.setId(id);
+        item.setMenuItemId(menuItemId);
+        item.setItemName(name);
+        item.setQuantity(quantity);
+        item.setPrice(new BigDecimal(price));
+        return item;
+    }
+
+    // One customer's cart, kept the way CartStore implementations keep it: copies out, version bumped per change
+    static class SingleCartStore implements CartStore {
+        private Cart cart;
+
+        @Override
+        public Optional<Cart> find(Long customerId) {
+            return Optional.ofNullable(cart).map(Cart::copy);
+        }
+
+        @Override
+        public Optional<CartVersion> findVersion(Long customerId) {
+            return Optional.ofNullable(cart)
+                    .map(current -> new CartVersion(current.getId(), current.getVersion(), current.getExpiresAt()));
+        }
+
+        @Override
+        public Cart update(Long customerId, UnaryOperator<Cart> mutation) {
+            Cart updated = mutation.apply(cart != null ? cart.copy() : null);
+            if (updated != null) {
+                updated.setVersion(updated.getVersion() + 1);
+            }
+            cart = updated;
+            return updated != null ? updated.copy() : null;
+        }
+
+        @Override
+        public void flush(Long customerId) {
+        }
+    }
+}
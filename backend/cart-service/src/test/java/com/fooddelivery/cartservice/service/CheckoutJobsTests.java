@@ -0,0 +1,152 @@
+package com.fooddelivery.cartservice.service;
+
+import com.fooddelivery.cartservice.dto.CheckoutJobDTO;
+import com.fooddelivery.cartservice.dto.CheckoutRequestDTO;
+import com.fooddelivery.cartservice.dto.CreateOrderFromCartDTO;
+import com.fooddelivery.cartservice.dto.OrderResponseDTO;
+import com.fooddelivery.cartservice.feign.AuthServiceClient;
+import com.fooddelivery.cartservice.feign.OrderServiceClient;
+import com.fooddelivery.cartservice.feign.RestaurantServiceClient;
+import com.fooddelivery.cartservice.model.Cart;
+import com.fooddelivery.cartservice.model.CartItem;
+import feign.RetryableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CheckoutJobsTests {
+
+    private static final Long CUSTOMER_ID = 3L;
+    private static final Long RESTAURANT_ID = 7L;
+
+    @Mock
+    private CartStore cartStore;
+
+    @Mock
+    private RestaurantServiceClient restaurantServiceClient;
+
+    @Mock
+    private OrderServiceClient orderServiceClient;
+
+    @Mock
+    private AuthServiceClient authServiceClient;
+
+    @Mock
+    private CartPriceTokens cartPriceTokens;
+
+    @InjectMocks
+    private CartService cartService;
+
+    private ThreadPoolTaskExecutor executor;
+    private CheckoutJobs checkoutJobs;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.initialize();
+        checkoutJobs = new CheckoutJobs(cartService, executor, 15, 5);
+
+        when(cartStore.find(CUSTOMER_ID)).thenReturn(Optional.of(cart()));
+        when(authServiceClient.verifyAddressOwnership(anyLong(), anyLong(), eq("true"))).thenReturn(true);
+        when(restaurantServiceClient.getMenuItems(eq(RESTAURANT_ID), anyList())).thenReturn(List.of(Map.of(
+                "id", 100, "name", "Koshari", "price", 50.0, "isAvailable", true)));
+        // Each attempt signs a fresh token, as the real CartPriceTokens does
+        when(cartPriceTokens.sign(eq(RESTAURANT_ID), anyList())).thenReturn("v1.1000.first", "v1.1090.second");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    // Order-service committed the order but the response timed out: the job is retriable,
+    // and the resubmission reuses the cart's idempotency key so it gets that order back
+    @Test
+    void timedOutCheckoutIsRetriableAndResubmitReusesTheCartKey() throws Exception {
+        RetryableException readTimeout = mock(RetryableException.class);
+        when(readTimeout.status()).thenReturn(-1);
+        OrderResponseDTO placed = new OrderResponseDTO();
+        placed.setId(500L);
+        when(orderServiceClient.createOrderFromCart(any(), eq("true"), any()))
+                .thenThrow(readTimeout)
+                .thenReturn(placed);
+
+        CheckoutJobDTO failed = await(checkoutJobs.submit(new CheckoutRequestDTO(11L, null), CUSTOMER_ID));
+        assertEquals(CheckoutJobDTO.Status.FAILED, failed.getStatus());
+        assertTrue(failed.getRetriable());
+
+        CheckoutJobDTO retried = await(checkoutJobs.submit(new CheckoutRequestDTO(11L, null), CUSTOMER_ID));
+        assertEquals(CheckoutJobDTO.Status.SUCCEEDED, retried.getStatus());
+        assertEquals(500L, retried.getOrder().getId());
+
+        ArgumentCaptor<CreateOrderFromCartDTO> requests = ArgumentCaptor.forClass(CreateOrderFromCartDTO.class);
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(orderServiceClient, times(2)).createOrderFromCart(requests.capture(), eq("true"), keys.capture());
+        assertEquals(List.of("cart-42-1", "cart-42-1"), keys.getAllValues());
+        assertEquals("v1.1000.first", requests.getAllValues().get(0).getPriceToken());
+        assertEquals("v1.1090.second", requests.getAllValues().get(1).getPriceToken());
+    }
+
+    private CheckoutJobDTO await(CheckoutJobDTO job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        CheckoutJobDTO current = job;
+        while (current.getStatus() == CheckoutJobDTO.Status.PENDING
+                || current.getStatus() == CheckoutJobDTO.Status.RUNNING) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Checkout job " + job.getJobId() + " did not finish");
+            }
+            Thread.sleep(10);
+            current = checkoutJobs.getJob(job.getJobId(), CUSTOMER_ID);
+        }
+        return current;
+    }
+
+    private Cart cart() {
+        Cart cart = new Cart();
+        cart.setId(42L);
+        cart.setCustomerId(CUSTOMER_ID);
+        cart.setRestaurantId(RESTAURANT_ID);
+        cart.setCreatedAt(LocalDateTime.now());
+        cart.setExpiresAt(LocalDateTime.now().plusHours(1));
+        cart.setVersion(1);
+
+        CartItem item = new CartItem();
+        item.setId(43L);
+        item.setMenuItemId(100L);
+        item.setItemName("Koshari");
+        item.setQuantity(2);
+        item.setPrice(new BigDecimal("50.00"));
+        cart.addItem(item);
+        return cart;
+    }
+}
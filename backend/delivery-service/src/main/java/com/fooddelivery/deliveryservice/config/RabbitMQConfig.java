@@ -13,16 +13,21 @@ public class RabbitMQConfig {
 
     // Exchange
     public static final String DELIVERY_EXCHANGE = "delivery.exchange";
+    public static final String ORDER_EXCHANGE = "order.exchange"; // Owned by order-service
 
     // Queues (will be consumed by notification-service)
     public static final String DELIVERY_ASSIGNED_QUEUE = "delivery.assigned.queue";
     public static final String DELIVERY_PICKED_UP_QUEUE = "delivery.picked-up.queue";
     public static final String DELIVERY_DELIVERED_QUEUE = "delivery.delivered.queue";
 
+    // Consumed here: ready orders become deliveries
+    public static final String ORDER_READY_QUEUE = "delivery.order-ready.queue";
+
     // Routing Keys
     public static final String DELIVERY_ASSIGNED_KEY = "delivery.assigned";
     public static final String DELIVERY_PICKED_UP_KEY = "delivery.picked-up";
     public static final String DELIVERY_DELIVERED_KEY = "delivery.delivered";
+    public static final String ORDER_READY_KEY = "order.ready";
 
     @Bean
     public MessageConverter jsonMessageConverter() {
@@ -42,6 +47,11 @@ public class RabbitMQConfig {
         return new TopicExchange(DELIVERY_EXCHANGE);
     }
 
+    @Bean
+    public TopicExchange orderExchange() {
+        return new TopicExchange(ORDER_EXCHANGE);
+    }
+
     // Queues
     @Bean
     public Queue deliveryAssignedQueue() {
@@ -59,6 +69,11 @@ public class RabbitMQConfig {
         return new Queue(DELIVERY_DELIVERED_QUEUE, true);
     }
 
+    @Bean
+    public Queue orderReadyQueue() {
+        return new Queue(ORDER_READY_QUEUE, true);
+    }
+
     // Bindings
     @Bean
     public Binding deliveryAssignedBinding() {
@@ -81,4 +96,11 @@ public class RabbitMQConfig {
                 .to(deliveryExchange())
                 .with(DELIVERY_DELIVERED_KEY);
     }
+
+    @Bean
+    public Binding orderReadyBinding() {
+        return BindingBuilder.bind(orderReadyQueue())
+                .to(orderExchange())
+                .with(ORDER_READY_KEY);
+    }
 }
@@ -147,6 +147,26 @@ public class DeliveryController {
         );
     }
 
+    // Pings land in memory and are written to the database in batches, hence 202
+    @PostMapping("/{deliveryId}/location")
+    public ResponseEntity<Void> reportLocation(
+            @PathVariable Long deliveryId,
+            @Valid @RequestBody DriverLocationDTO dto,
+            @RequestHeader("X-User-Id") Long driverId) {
+
+        deliveryService.reportLocation(deliveryId, dto, driverId);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/locations")
+    public ResponseEntity<Void> reportLocations(
+            @Valid @RequestBody DriverLocationBatchDTO dto,
+            @RequestHeader("X-User-Id") Long driverId) {
+
+        deliveryService.reportLocations(dto, driverId);
+        return ResponseEntity.accepted().build();
+    }
+
     @PutMapping("/{deliveryId}/pickup-confirmation")
     public ResponseEntity<DeliveryResponseDTO> confirmPickup(
             @PathVariable Long deliveryId,
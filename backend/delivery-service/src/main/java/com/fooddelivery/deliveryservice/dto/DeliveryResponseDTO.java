@@ -21,6 +21,9 @@ public class DeliveryResponseDTO {
     private DeliveryStatus status;
     private String restaurantAddress;
     private String deliveryAddress;
+    private Double driverLatitude;
+    private Double driverLongitude;
+    private LocalDateTime lastLocationUpdate;
     private LocalDateTime pickupTime;
     private LocalDateTime deliveryTime;
     private LocalDateTime estimatedDeliveryTime;
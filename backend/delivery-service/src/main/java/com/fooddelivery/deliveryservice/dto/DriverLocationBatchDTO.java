@@ -0,0 +1,21 @@
+package com.fooddelivery.deliveryservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverLocationBatchDTO {
+
+    @NotEmpty(message = "At least one ping is required")
+    @Size(max = 500, message = "At most 500 pings per request")
+    private List<@Valid @NotNull DriverLocationPingDTO> pings;
+}
@@ -0,0 +1,24 @@
+package com.fooddelivery.deliveryservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Published by order-service when an order is READY_FOR_PICKUP
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderReadyEvent implements Serializable {
+    private Long orderId;
+    private Long customerId;
+    private String restaurantName;
+    private Long restaurantId;
+    private Long deliveryAddressId;
+    private String restaurantAddress; // May be null, resolved from restaurant-service then
+    private String deliveryAddress;   // Formatted by order-service; null only if auth-service never answered
+    private LocalDateTime estimatedDeliveryTime;
+    private String deliveryNotes;
+}
@@ -0,0 +1,23 @@
+package com.fooddelivery.deliveryservice.listener;
+
+import com.fooddelivery.deliveryservice.config.RabbitMQConfig;
+import com.fooddelivery.deliveryservice.event.OrderReadyEvent;
+import com.fooddelivery.deliveryservice.service.DeliveryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventListener {
+
+    private final DeliveryService deliveryService;
+
+    @RabbitListener(queues = RabbitMQConfig.ORDER_READY_QUEUE)
+    public void handleOrderReady(OrderReadyEvent event) {
+        log.info("Received ORDER_READY event for order: {}", event.getOrderId());
+        deliveryService.createDeliveryForReadyOrder(event);
+    }
+}
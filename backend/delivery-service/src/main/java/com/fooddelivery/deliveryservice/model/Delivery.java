@@ -41,9 +41,13 @@ public class Delivery {
     private String restaurantAddress;
     private String deliveryAddress;
 
-    // Driver location tracking
+    // Driver location tracking. Written only by DriverLocations' batched flush,
+    // so saving a delivery never overwrites a newer position with the one it loaded
+    @Column(updatable = false)
     private Double driverLatitude;
+    @Column(updatable = false)
     private Double driverLongitude;
+    @Column(updatable = false)
     private LocalDateTime lastLocationUpdate;
 
     // Delivery timestamps
@@ -12,6 +12,7 @@ import com.fooddelivery.deliveryservice.model.DeliveryStatus;
 import com.fooddelivery.deliveryservice.repository.DeliveryRepository;
 import com.fooddelivery.deliveryservice.feign.RestaurantServiceClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +43,9 @@ public class DeliveryService {
     @Autowired
     private DeliveryEventPublisher eventPublisher;
 
+    @Autowired
+    private DriverLocations driverLocations;
+
     private Long getLongValue(Object value) {
         if (value == null) return null;
         if (value instanceof Integer) return ((Integer) value).longValue();
@@ -74,6 +78,50 @@ public class DeliveryService {
         return convertToResponseDTO(savedDelivery);
     }
 
+    // Called for every ORDER_READY event. Redeliveries and duplicates are ignored,
+    // so the same event may safely be processed more than once.
+    public void createDeliveryForReadyOrder(OrderReadyEvent event) {
+        if (deliveryRepository.findByOrderId(event.getOrderId()).isPresent()) {
+            log.info("Delivery already exists for order {}, ignoring ORDER_READY", event.getOrderId());
+            return;
+        }
+
+        String restaurantAddress = event.getRestaurantAddress();
+        if (restaurantAddress == null) {
+            try {
+                restaurantAddress = fetchRestaurantAddress(event.getRestaurantId());
+            } catch (Exception e) {
+                restaurantAddress = "Restaurant Address Not Available";
+            }
+        }
+
+        // Formatted by order-service, which owns the address snapshot
+        String deliveryAddress = event.getDeliveryAddress() != null
+                ? event.getDeliveryAddress()
+                : "Delivery Address Not Available";
+
+        Delivery delivery = new Delivery();
+        delivery.setOrderId(event.getOrderId());
+        delivery.setCustomerId(event.getCustomerId());
+        delivery.setRestaurantId(event.getRestaurantId());
+        delivery.setDeliveryAddressId(event.getDeliveryAddressId());
+        delivery.setRestaurantAddress(restaurantAddress);
+        delivery.setDeliveryAddress(deliveryAddress);
+        delivery.setEstimatedDeliveryTime(event.getEstimatedDeliveryTime());
+        if (event.getDeliveryNotes() != null && !event.getDeliveryNotes().isEmpty()) {
+            delivery.setDeliveryNotes(event.getDeliveryNotes());
+        }
+        delivery.setStatus(DeliveryStatus.PENDING);
+
+        try {
+            Delivery savedDelivery = deliveryRepository.save(delivery);
+            log.info("Created delivery {} for order {}", savedDelivery.getId(), event.getOrderId());
+        } catch (DataIntegrityViolationException e) {
+            // Another consumer created it concurrently (orderId is unique)
+            log.info("Delivery already exists for order {}, ignoring ORDER_READY", event.getOrderId());
+        }
+    }
+
     public DeliveryResponseDTO getDeliveryById(Long deliveryId) {
         Delivery delivery = deliveryRepository.findById(deliveryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Delivery not found with id: " + deliveryId));
@@ -125,6 +173,7 @@ public class DeliveryService {
         delivery.setStatus(dto.getStatus());
 
         Delivery updatedDelivery = deliveryRepository.save(delivery);
+        driverLocations.forgetAssignment(deliveryId);
 
         // Set timestamps based on status
         if (dto.getStatus() == DeliveryStatus.PICKED_UP && delivery.getPickupTime() == null) {
@@ -181,6 +230,7 @@ public class DeliveryService {
         delivery.setDriverId(dto.getDriverId());
         delivery.setStatus(DeliveryStatus.ASSIGNED);
         Delivery updatedDelivery = deliveryRepository.save(delivery);
+        driverLocations.forgetAssignment(deliveryId);
 
         // PUBLISH EVENT
         try {
@@ -200,6 +250,14 @@ public class DeliveryService {
     }
 
 
+    public void reportLocation(Long deliveryId, DriverLocationDTO dto, Long driverId) {
+        driverLocations.record(driverId, deliveryId, dto.getLatitude(), dto.getLongitude(), dto.getRecordedAt());
+    }
+
+    public void reportLocations(DriverLocationBatchDTO dto, Long driverId) {
+        driverLocations.recordAll(driverId, dto.getPings());
+    }
+
     @Transactional
     public DeliveryResponseDTO confirmPickup(Long deliveryId, Long driverId) {
         Delivery delivery = deliveryRepository.findById(deliveryId)
@@ -218,6 +276,7 @@ public class DeliveryService {
         delivery.setPickupTime(LocalDateTime.now());
 
         Delivery updatedDelivery = deliveryRepository.save(delivery);
+        driverLocations.forgetAssignment(deliveryId);
 
         // UPDATE ORDER STATUS TO PICKED_UP
         try {
@@ -269,6 +328,7 @@ public class DeliveryService {
         delivery.setDeliveryTime(LocalDateTime.now());
 
         Delivery updatedDelivery = deliveryRepository.save(delivery);
+        driverLocations.forgetAssignment(deliveryId);
 
         // UPDATE ORDER STATUS TO DELIVERED
         try {
@@ -468,6 +528,10 @@ public class DeliveryService {
         dto.setStatus(delivery.getStatus());
         dto.setRestaurantAddress(delivery.getRestaurantAddress());
         dto.setDeliveryAddress(delivery.getDeliveryAddress());
+        dto.setDriverLatitude(delivery.getDriverLatitude());
+        dto.setDriverLongitude(delivery.getDriverLongitude());
+        dto.setLastLocationUpdate(delivery.getLastLocationUpdate());
+        driverLocations.applyLatest(dto);
         dto.setPickupTime(delivery.getPickupTime());
         dto.setDeliveryTime(delivery.getDeliveryTime());
         dto.setEstimatedDeliveryTime(delivery.getEstimatedDeliveryTime());
@@ -0,0 +1,224 @@
+package com.fooddelivery.deliveryservice.service;
+
+import com.fooddelivery.deliveryservice.dto.DeliveryResponseDTO;
+import com.fooddelivery.deliveryservice.dto.DriverLocationPingDTO;
+import com.fooddelivery.deliveryservice.exception.BadRequestException;
+import com.fooddelivery.deliveryservice.exception.ResourceNotFoundException;
+import com.fooddelivery.deliveryservice.model.Delivery;
+import com.fooddelivery.deliveryservice.model.DeliveryStatus;
+import com.fooddelivery.deliveryservice.repository.DeliveryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latest driver position per delivery. Pings only update memory; every
+ * delivery.location.flush-interval-ms the positions that changed are written to
+ * the deliveries table in JDBC batches of delivery.location.batch-size. However
+ * often a driver pings in between, a delivery gets at most one row update per flush.
+ *
+ * Which driver may report for a delivery is cached for
+ * delivery.location.assignment-ttl-seconds, and dropped by DeliveryService once a
+ * change of the delivery's driver or status commits, so pings don't read the
+ * database either. Only this instance's cache is dropped: other instances keep
+ * the old assignment for up to the TTL.
+ */
+@Component
+@Slf4j
+public class DriverLocations {
+
+    // The timestamp guard keeps an older position (e.g. from another instance) from overwriting a newer one
+    private static final String UPDATE_SQL =
+            "UPDATE deliveries SET driver_latitude = ?, driver_longitude = ?, last_location_update = ? " +
+                    "WHERE id = ? AND (last_location_update IS NULL OR last_location_update < ?)";
+
+    private final DeliveryRepository deliveryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long assignmentTtlNanos;
+    private final long idleMinutes;
+
+    private final Map<Long, Position> latest = new ConcurrentHashMap<>();
+    private final Map<Long, Position> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Assignment> assignments = new ConcurrentHashMap<>();
+
+    public DriverLocations(
+            DeliveryRepository deliveryRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${delivery.location.batch-size:500}") int batchSize,
+            @Value("${delivery.location.assignment-ttl-seconds:30}") long assignmentTtlSeconds,
+            @Value("${delivery.location.idle-minutes:30}") long idleMinutes) {
+        this.deliveryRepository = deliveryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.assignmentTtlNanos = TimeUnit.SECONDS.toNanos(assignmentTtlSeconds);
+        this.idleMinutes = idleMinutes;
+    }
+
+    public void record(Long driverId, Long deliveryId, double latitude, double longitude, LocalDateTime recordedAt) {
+        verifyReporting(driverId, deliveryId);
+        store(deliveryId, new Position(latitude, longitude, clamp(recordedAt)));
+    }
+
+    // All pings are checked before any is stored, so a rejected batch changes nothing
+    public void recordAll(Long driverId, List<DriverLocationPingDTO> pings) {
+        pings.stream()
+                .map(DriverLocationPingDTO::getDeliveryId)
+                .distinct()
+                .forEach(deliveryId -> verifyReporting(driverId, deliveryId));
+
+        for (DriverLocationPingDTO ping : pings) {
+            store(ping.getDeliveryId(),
+                    new Position(ping.getLatitude(), ping.getLongitude(), clamp(ping.getRecordedAt())));
+        }
+    }
+
+    // Replaces the stored position in a response with the latest ping if that is newer
+    public void applyLatest(DeliveryResponseDTO dto) {
+        Position position = latest.get(dto.getId());
+        if (position != null && (dto.getLastLocationUpdate() == null
+                || position.recordedAt.isAfter(dto.getLastLocationUpdate()))) {
+            dto.setDriverLatitude(position.latitude);
+            dto.setDriverLongitude(position.longitude);
+            dto.setLastLocationUpdate(position.recordedAt);
+        }
+    }
+
+    // Called when a delivery's driver or status changes. Inside a transaction the entry is
+    // dropped after commit; dropped earlier, a ping could cache the old row again until the TTL
+    public void forgetAssignment(Long deliveryId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            assignments.remove(deliveryId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                assignments.remove(deliveryId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.location.flush-interval-ms:5000}")
+    public void flush() {
+        long started = System.nanoTime();
+
+        // Take the pending positions; pings arriving meanwhile are kept for the next flush
+        Map<Long, Position> batch = new LinkedHashMap<>();
+        for (Long deliveryId : new ArrayList<>(pending.keySet())) {
+            Position position = pending.remove(deliveryId);
+            if (position != null) {
+                batch.put(deliveryId, position);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            batch.forEach((deliveryId, position) -> {
+                Timestamp recordedAt = Timestamp.valueOf(position.recordedAt);
+                rows.add(new Object[]{position.latitude, position.longitude, recordedAt, deliveryId, recordedAt});
+            });
+
+            try {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+                }
+                log.debug("Flushed {} driver locations in {} ms", rows.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            } catch (RuntimeException e) {
+                // Put them back unless a newer ping arrived; the guard makes rewriting flushed rows harmless
+                batch.forEach((deliveryId, position) -> pending.merge(deliveryId, position, Position::newer));
+                log.warn("Failed to flush {} driver locations: {}", rows.size(), e.getMessage());
+            }
+        }
+
+        evictIdle();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void store(Long deliveryId, Position position) {
+        // A ping older than the latest known position (e.g. replayed from a buffer) is dropped
+        if (latest.merge(deliveryId, position, Position::newer) == position) {
+            pending.merge(deliveryId, position, Position::newer);
+        }
+    }
+
+    private void verifyReporting(Long driverId, Long deliveryId) {
+        long now = System.nanoTime();
+        Assignment assignment = assignments.get(deliveryId);
+        if (assignment == null || now - assignment.loadedNanos > assignmentTtlNanos) {
+            Delivery delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Delivery not found with id: " + deliveryId));
+            assignment = new Assignment(delivery.getDriverId(), delivery.getStatus(), now);
+            assignments.put(deliveryId, assignment);
+        }
+
+        if (!driverId.equals(assignment.driverId)) {
+            throw new BadRequestException("You are not assigned to this delivery");
+        }
+        if (assignment.status != DeliveryStatus.ASSIGNED && assignment.status != DeliveryStatus.PICKED_UP) {
+            throw new BadRequestException("Location can only be reported for an active delivery");
+        }
+    }
+
+    // Device clocks can run ahead; a fix is never taken later than now
+    private LocalDateTime clamp(LocalDateTime recordedAt) {
+        LocalDateTime now = LocalDateTime.now();
+        return recordedAt == null || recordedAt.isAfter(now) ? now : recordedAt;
+    }
+
+    private void evictIdle() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(idleMinutes);
+        latest.entrySet().removeIf(entry ->
+                entry.getValue().recordedAt.isBefore(cutoff) && !pending.containsKey(entry.getKey()));
+
+        long now = System.nanoTime();
+        assignments.values().removeIf(assignment -> now - assignment.loadedNanos > assignmentTtlNanos);
+    }
+
+    private static final class Position {
+        private final double latitude;
+        private final double longitude;
+        private final LocalDateTime recordedAt;
+
+        private Position(double latitude, double longitude, LocalDateTime recordedAt) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.recordedAt = recordedAt;
+        }
+
+        private static Position newer(Position a, Position b) {
+            return b.recordedAt.isAfter(a.recordedAt) ? b : a;
+        }
+    }
+
+    private static final class Assignment {
+        private final Long driverId;
+        private final DeliveryStatus status;
+        private final long loadedNanos;
+
+        private Assignment(Long driverId, DeliveryStatus status, long loadedNanos) {
+            this.driverId = driverId;
+            this.status = status;
+            this.loadedNanos = loadedNanos;
+        }
+    }
+}
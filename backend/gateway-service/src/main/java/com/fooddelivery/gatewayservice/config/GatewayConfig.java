@@ -39,8 +39,11 @@ public class GatewayConfig {
                         // Block all external access completely
                         .pathMatchers(HttpMethod.POST, "/auth/validate").denyAll()
                         .pathMatchers(HttpMethod.PATCH, "/restaurants/*/rating").denyAll()
+                        .pathMatchers(HttpMethod.POST, "/restaurants/*/menu/batch").denyAll()
                         .pathMatchers(HttpMethod.POST, "/orders/*/paid").denyAll()
                         .pathMatchers(HttpMethod.POST, "/orders/from-cart").denyAll()
+                        .pathMatchers(HttpMethod.GET, "/orders/*/summary").denyAll()
+                        .pathMatchers(HttpMethod.POST, "/orders/summaries").denyAll()
                         .pathMatchers(HttpMethod.GET, "/addresses/internal/**").denyAll()
 
                         // ============= DELIVERIES SECTION (REORDERED) =============
@@ -61,6 +64,11 @@ public class GatewayConfig {
                                 "/deliveries/*/delivery-confirmation"
                         ).hasAuthority("DELIVERY_DRIVER")
 
+                        .pathMatchers(HttpMethod.POST,
+                                "/deliveries/*/location",
+                                "/deliveries/locations"
+                        ).hasAuthority("DELIVERY_DRIVER")
+
                         // RESTAURANT_OWNER - specific path first
                         .pathMatchers("/deliveries/my-restaurant-deliveries")
                         .hasAuthority("RESTAURANT_OWNER")
@@ -183,15 +191,18 @@ public class GatewayConfig {
                         .hasAuthority("DELIVERY_DRIVER")
 
                         // Orders section
-                        .pathMatchers(HttpMethod.GET, "/orders/*")
+                        .pathMatchers(HttpMethod.GET, "/orders/*", "/orders/*/stream")
                         .hasAnyAuthority("ADMIN", "CUSTOMER", "RESTAURANT_OWNER")
 
-                        .pathMatchers("/orders/restaurant/*")
+                        .pathMatchers("/orders/restaurant/*", "/orders/restaurant/*/dashboard")
                         .hasAnyAuthority("ADMIN", "RESTAURANT_OWNER")
 
                         .pathMatchers(HttpMethod.PUT, "/orders/*/status")
                         .hasAnyAuthority("ADMIN", "RESTAURANT_OWNER")
 
+                        .pathMatchers(HttpMethod.PUT, "/orders/bulk-status")
+                        .hasAnyAuthority("ADMIN", "RESTAURANT_OWNER")
+
                         // Payments section
                         .pathMatchers(HttpMethod.GET,
                                 "/payments/*",
@@ -1,5 +1,10 @@
 package com.fooddelivery.orderservice.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Base64UrlNamingStrategy;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -18,6 +23,7 @@ public class RabbitMQConfig {
     public static final String ORDER_CONFIRMED_KEY = "order.confirmed";
     public static final String ORDER_READY_KEY = "order.ready";
     public static final String ORDER_CANCELLED_KEY = "order.cancelled";
+    public static final String ORDER_STATUS_CHANGED_KEY = "order.status-changed";
 
     @Bean
     public MessageConverter jsonMessageConverter() {
@@ -35,4 +41,18 @@ public class RabbitMQConfig {
     public TopicExchange orderExchange() {
         return new TopicExchange(ORDER_EXCHANGE);
     }
+
+    // One exclusive, auto-delete queue per instance, so each instance sees every status change
+    @Bean
+    public Queue orderStreamQueue() {
+        return new AnonymousQueue(new Base64UrlNamingStrategy("order-service.stream."));
+    }
+
+    @Bean
+    public Binding orderStreamBinding() {
+        return BindingBuilder
+                .bind(orderStreamQueue())
+                .to(orderExchange())
+                .with(ORDER_STATUS_CHANGED_KEY);
+    }
 }
@@ -3,14 +3,17 @@ package com.fooddelivery.orderservice.controller;
 import com.fooddelivery.orderservice.dto.*;
 import com.fooddelivery.orderservice.model.OrderStatus;
 import com.fooddelivery.orderservice.repository.OrderRepository;
+import com.fooddelivery.orderservice.service.OrderIdempotencyService;
 import com.fooddelivery.orderservice.service.OrderService;
 // import com.fooddelivery.cartservice.dto.*;
 import com.fooddelivery.orderservice.dto.CreateOrderFromCartDTO;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -24,23 +27,31 @@ public class OrderController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
     // CUSTOMER
 
     @PostMapping
     public ResponseEntity<OrderResponseDTO> createOrder(
             @Valid @RequestBody CreateOrderDTO dto,
-            @RequestHeader("X-User-Id") Long customerId) {
+            @RequestHeader("X-User-Id") Long customerId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
-        OrderResponseDTO order = orderService.createOrder(dto, customerId);
+        // A retry with the same key gets the original order back
+        OrderResponseDTO order = orderIdempotencyService.execute(
+                customerId, idempotencyKey, dto, () -> orderService.createOrder(dto, customerId));
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
 
     @GetMapping("/customer")
-    public ResponseEntity<List<OrderResponseDTO>> getMyOrders(
-            @RequestHeader("X-User-Id") Long customerId) {
+    public ResponseEntity<OrderPageResponse> getMyOrders(
+            @RequestHeader("X-User-Id") Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
         return ResponseEntity.ok(
-                orderService.getOrdersByCustomerId(customerId)
+                orderService.getOrdersByCustomerId(customerId, cursor, limit)
         );
     }
 
@@ -67,28 +78,44 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
 
+    // Pushes status/ETA changes until the order is delivered, cancelled or rejected
+    @GetMapping(value = "/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(
+            @PathVariable Long orderId,
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String userRole) {
+
+        return orderService.streamOrderStatus(orderId, userId, userRole);
+    }
+
     // ADMIN
 
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<OrderPageResponse> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getAllOrders(cursor, limit));
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByCustomerId(
-            @PathVariable Long customerId) {
+    public ResponseEntity<OrderPageResponse> getOrdersByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
         return ResponseEntity.ok(
-                orderService.getOrdersByCustomerId(customerId)
+                orderService.getOrdersByCustomerId(customerId, cursor, limit)
         );
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByStatus(
-            @PathVariable OrderStatus status) {
+    public ResponseEntity<OrderPageResponse> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
         return ResponseEntity.ok(
-                orderService.getOrdersByStatus(status)
+                orderService.getOrdersByStatus(status, cursor, limit)
         );
     }
 
@@ -105,13 +132,27 @@ public class OrderController {
     // ADMIN / RESTAURANT_OWNER
 
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByRestaurantId(
+    public ResponseEntity<OrderPageResponse> getOrdersByRestaurantId(
+            @PathVariable Long restaurantId,
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String userRole,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(
+                orderService.getOrdersByRestaurantId(restaurantId, userId, userRole, cursor, limit)
+        );
+    }
+
+    // Status counts and today's revenue for the kitchen screen
+    @GetMapping("/restaurant/{restaurantId}/dashboard")
+    public ResponseEntity<RestaurantDashboardDTO> getRestaurantDashboard(
             @PathVariable Long restaurantId,
             @RequestHeader("X-User-Id") Long userId,
             @RequestHeader("X-User-Role") String userRole) {
 
         return ResponseEntity.ok(
-                orderService.getOrdersByRestaurantId(restaurantId, userId, userRole)
+                orderService.getRestaurantDashboard(restaurantId, userId, userRole)
         );
     }
 
@@ -127,6 +168,17 @@ public class OrderController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @PutMapping("/bulk-status")
+    public ResponseEntity<List<OrderStatusChangeResultDTO>> bulkUpdateOrderStatus(
+            @Valid @RequestBody BulkOrderStatusUpdateDTO dto,
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String userRole) {
+
+        return ResponseEntity.ok(
+                orderService.bulkUpdateOrderStatus(dto, userId, userRole)
+        );
+    }
+
     // INTERNAL - Payment calls this endpoint
     @PostMapping("/{orderId}/paid")
     public ResponseEntity<Void> markOrderAsPaid(@PathVariable Long orderId) {
@@ -134,6 +186,7 @@ public class OrderController {
         return ResponseEntity.ok().build();
     }
 
+    // INTERNAL - Payment calls this endpoint
     @GetMapping("/{orderId}/summary")
     public ResponseEntity<OrderSummaryResponse> getOrderSummary(
             @PathVariable Long orderId) {
@@ -143,15 +196,27 @@ public class OrderController {
         );
     }
 
+    // INTERNAL - Batch of summaries for reconciliation and reporting jobs
+    @PostMapping("/summaries")
+    public ResponseEntity<List<OrderSummaryResponse>> getOrderSummaries(
+            @Valid @RequestBody OrderSummariesRequest request) {
+
+        return ResponseEntity.ok(
+                orderService.getOrderSummaries(request.getOrderIds())
+        );
+    }
+
     // INTERNAL - Cart service calls this endpoint
     @PostMapping("/from-cart")
     public ResponseEntity<OrderResponseDTO> createOrderFromCart(
             @Valid @RequestBody CreateOrderFromCartDTO dto,
-            @RequestHeader("X-Internal-Request") String internalFlag) {
+            @RequestHeader("X-Internal-Request") String internalFlag,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         if (!"true".equals(internalFlag)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        OrderResponseDTO order = orderService.createOrderFromCart(dto);
+        OrderResponseDTO order = orderIdempotencyService.execute(
+                dto.getCustomerId(), idempotencyKey, dto, () -> orderService.createOrderFromCart(dto));
         return ResponseEntity.status(HttpStatus.CREATED).body(order);
     }
 
@@ -0,0 +1,22 @@
+package com.fooddelivery.orderservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusUpdateDTO {
+
+    // Applied in list order, so one order may appear more than once (e.g. CONFIRMED then PREPARING)
+    @NotEmpty(message = "At least one status update is required")
+    @Size(max = 100, message = "At most 100 status updates per request")
+    @Valid
+    private List<OrderStatusChangeDTO> updates;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,4 +13,7 @@ public class CartItemForOrderDTO {
     private Long menuItemId;
     private Integer quantity;
     private String customizations;
+    // As restaurant-service returned them at checkout, covered by the price token
+    private String itemName;
+    private BigDecimal price;
 }
@@ -0,0 +1,13 @@
+package com.fooddelivery.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryAddressInfo {
+    private String address; // Formatted for display, null if unknown
+    private GeoPoint location; // Null if the customer didn't pin the address
+}
@@ -0,0 +1,21 @@
+package com.fooddelivery.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoPoint {
+    private double latitude;
+    private double longitude;
+
+    // Null unless both coordinates are present
+    public static GeoPoint of(Object latitude, Object longitude) {
+        if (latitude instanceof Number && longitude instanceof Number) {
+            return new GeoPoint(((Number) latitude).doubleValue(), ((Number) longitude).doubleValue());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.fooddelivery.orderservice.dto;
+
+import com.fooddelivery.orderservice.model.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangeDTO {
+
+    @NotNull(message = "Order ID is required")
+    private Long orderId;
+
+    @NotNull(message = "Order status is required")
+    private OrderStatus status;
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.orderservice.dto;
+
+import com.fooddelivery.orderservice.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangeResultDTO {
+
+    private Long orderId;
+    private boolean success;
+    private OrderStatus status; // Status after this change, or the unchanged status if it was rejected
+    private String error;
+}
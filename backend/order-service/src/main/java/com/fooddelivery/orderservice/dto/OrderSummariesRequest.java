@@ -0,0 +1,20 @@
+package com.fooddelivery.orderservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummariesRequest {
+
+    @NotEmpty(message = "At least one order id is required")
+    @Size(max = 500, message = "At most 500 order ids per request")
+    private List<@NotNull Long> orderIds;
+}
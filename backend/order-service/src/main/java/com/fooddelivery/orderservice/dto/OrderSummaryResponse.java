@@ -9,6 +9,7 @@ public class OrderSummaryResponse {
 
     private Long orderId;
     private Long userId;
+    private Long restaurantId;
     private BigDecimal total;
     private OrderStatus status;
     private PaymentStatus paymentStatus;
@@ -18,12 +19,14 @@ public class OrderSummaryResponse {
     public OrderSummaryResponse(
             Long orderId,
             Long userId,
+            Long restaurantId,
             BigDecimal total,
             OrderStatus status,
             PaymentStatus paymentStatus
     ) {
         this.orderId = orderId;
         this.userId = userId;
+        this.restaurantId = restaurantId;
         this.total = total;
         this.status = status;
         this.paymentStatus = paymentStatus;
@@ -37,6 +40,10 @@ public class OrderSummaryResponse {
         return userId;
     }
 
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
     public BigDecimal getTotal() {
         return total;
     }
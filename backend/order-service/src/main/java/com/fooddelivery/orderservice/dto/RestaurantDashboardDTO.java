@@ -0,0 +1,21 @@
+package com.fooddelivery.orderservice.dto;
+
+import com.fooddelivery.orderservice.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantDashboardDTO {
+
+    private Long restaurantId;
+    private Map<OrderStatus, Long> statusCounts; // Every status, zero included
+    private BigDecimal todayRevenue; // Totals of orders delivered today
+    private LocalDate revenueDate;
+}
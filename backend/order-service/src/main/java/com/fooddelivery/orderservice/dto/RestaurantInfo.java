@@ -0,0 +1,16 @@
+package com.fooddelivery.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantInfo {
+    private Long id;
+    private String name;
+    private Long ownerId;
+    private String address; // "address, district, city" or null if unknown
+    private GeoPoint location; // Null if the restaurant has no coordinates
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -13,4 +14,12 @@ public class OrderReadyEvent implements Serializable {
     private Long orderId;
     private Long customerId;
     private String restaurantName;
+
+    // Snapshot used by delivery-service to create the delivery
+    private Long restaurantId;
+    private Long deliveryAddressId;
+    private String restaurantAddress;
+    private String deliveryAddress;
+    private LocalDateTime estimatedDeliveryTime;
+    private String deliveryNotes;
 }
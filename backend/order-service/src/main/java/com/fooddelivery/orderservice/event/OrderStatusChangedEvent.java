@@ -0,0 +1,28 @@
+package com.fooddelivery.orderservice.event;
+
+import com.fooddelivery.orderservice.model.OrderStatus;
+import com.fooddelivery.orderservice.model.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Sent on creation and on every status/payment change; every order-service instance
+// pushes it to its SSE subscribers and applies it to its restaurant dashboard counters
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangedEvent implements Serializable {
+    private Long orderId;
+    private Long restaurantId;
+    private OrderStatus previousStatus; // null for a new order
+    private OrderStatus status;
+    private PaymentStatus paymentStatus;
+    private BigDecimal total;
+    private LocalDateTime estimatedDeliveryTime;
+    private LocalDateTime actualDeliveryTime;
+    private LocalDateTime changedAt;
+}
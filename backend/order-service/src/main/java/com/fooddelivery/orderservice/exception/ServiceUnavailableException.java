@@ -0,0 +1,8 @@
+package com.fooddelivery.orderservice.exception;
+
+// 503: a dependency didn't answer in time; the same request may succeed if sent again
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
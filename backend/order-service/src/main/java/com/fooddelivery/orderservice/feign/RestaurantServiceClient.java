@@ -3,7 +3,10 @@ package com.fooddelivery.orderservice.feign;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "restaurant-service")
@@ -19,4 +22,11 @@ public interface RestaurantServiceClient {
             @PathVariable("restaurantId") Long restaurantId,
             @PathVariable("menuItemId") Long menuItemId
     );
+
+    // Get several menu items of one restaurant in a single call
+    @PostMapping("/restaurants/{restaurantId}/menu/batch")
+    List<Map<String, Object>> getMenuItems(
+            @PathVariable("restaurantId") Long restaurantId,
+            @RequestBody List<Long> menuItemIds
+    );
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.fooddelivery.orderservice.listener;
+
+import com.fooddelivery.orderservice.event.OrderStatusChangedEvent;
+import com.fooddelivery.orderservice.service.OrderStreamRegistry;
+import com.fooddelivery.orderservice.service.RestaurantDashboards;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+// Every instance gets every status change and forwards it to its own SSE subscribers
+// and dashboard counters
+@Component
+@RequiredArgsConstructor
+public class OrderStatusStreamListener {
+
+    private final OrderStreamRegistry orderStreamRegistry;
+    private final RestaurantDashboards restaurantDashboards;
+
+    @RabbitListener(queues = "#{orderStreamQueue.name}")
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        orderStreamRegistry.publish(event);
+        restaurantDashboards.apply(event);
+    }
+}
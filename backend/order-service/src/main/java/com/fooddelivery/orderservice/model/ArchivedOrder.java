@@ -0,0 +1,107 @@
+package com.fooddelivery.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Finished order moved out of the orders/order_items tables by OrderArchive.
+ *
+ * The table is range-partitioned by archiveMonth (yyyyMM of createdAt, see
+ * OrderHistoryPartitions), and the items are kept as a JSON snapshot so one
+ * row holds the whole order.
+ */
+@Entity
+@Table(name = "order_history", indexes = {
+        @Index(name = "idx_order_history_order", columnList = "orderId"),
+        @Index(name = "idx_order_history_customer_created", columnList = "customerId, createdAt, orderId")
+})
+@IdClass(ArchivedOrderId.class)
+@Data
+@NoArgsConstructor
+public class ArchivedOrder implements Persistable<ArchivedOrderId> {
+
+    @Id
+    private Long orderId;
+
+    @Id
+    private Integer archiveMonth;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private Long restaurantId;
+
+    private String restaurantName;
+
+    private Long restaurantOwnerId;
+
+    @Column(nullable = false)
+    private Long deliveryAddressId;
+
+    @Column(length = 500)
+    private String deliveryAddress;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String items; // List<OrderItemResponseDTO> as JSON
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal deliveryFee;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal tax;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal total;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus paymentStatus;
+
+    @Column(length = 500)
+    private String specialInstructions;
+
+    private LocalDateTime estimatedDeliveryTime;
+
+    private LocalDateTime actualDeliveryTime;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Rows are only ever inserted, so skip the select-before-insert of an assigned id
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public ArchivedOrderId getId() {
+        return new ArchivedOrderId(orderId, archiveMonth);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fooddelivery.orderservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// Primary key of ArchivedOrder; MySQL requires the partitioning column in it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrderId implements Serializable {
+    private Long orderId;
+    private Integer archiveMonth;
+}
@@ -13,7 +13,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Back the keyset-paginated listings in OrderRepository
+        @Index(name = "idx_orders_created", columnList = "createdAt, id"),
+        @Index(name = "idx_orders_customer_created", columnList = "customerId, createdAt, id"),
+        @Index(name = "idx_orders_restaurant_created", columnList = "restaurantId, createdAt, id"),
+        @Index(name = "idx_orders_status_created", columnList = "status, createdAt, id"),
+        // Restaurant dashboard reconciliation (GROUP BY restaurantId, status)
+        @Index(name = "idx_orders_restaurant_status", columnList = "restaurantId, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,9 +37,17 @@ public class Order {
     @Column(nullable = false)
     private Long restaurantId;
 
+    // Restaurant snapshot taken when the order was placed, so reads stay local
+    private String restaurantName;
+
+    private Long restaurantOwnerId;
+
     @Column(nullable = false)
     private Long deliveryAddressId; // Reference to customer's address
 
+    @Column(length = 500)
+    private String deliveryAddress; // Formatted address snapshot taken when the order was placed
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
@@ -69,13 +85,20 @@ public class Order {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; the default fills the column for rows created before it existed
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long version;
+
     // Helper method to calculate total
     public void calculateTotal() {
-        this.subtotal = items.stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Money itemsTotal = Money.ZERO;
+        for (OrderItem item : items) {
+            itemsTotal = itemsTotal.plus(Money.of(item.getPrice()).times(item.getQuantity()));
+        }
 
-        this.total = subtotal.add(deliveryFee).add(tax);
+        this.subtotal = itemsTotal.toBigDecimal();
+        this.total = itemsTotal.plus(Money.of(deliveryFee)).plus(Money.of(tax)).toBigDecimal();
     }
 
     // Helper method to add item
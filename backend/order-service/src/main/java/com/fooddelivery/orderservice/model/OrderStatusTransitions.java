@@ -0,0 +1,38 @@
+package com.fooddelivery.orderservice.model;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Allowed order status transitions, built once. Each row is an EnumSet (a bitmask),
+ * so a check is a map lookup and a bit test.
+ */
+public final class OrderStatusTransitions {
+
+    private static final Map<OrderStatus, EnumSet<OrderStatus>> ALLOWED = new EnumMap<>(OrderStatus.class);
+
+    static {
+        allow(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.REJECTED, OrderStatus.CANCELLED);
+        allow(OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.CANCELLED);
+        allow(OrderStatus.PREPARING, OrderStatus.READY_FOR_PICKUP, OrderStatus.CANCELLED);
+        allow(OrderStatus.READY_FOR_PICKUP, OrderStatus.PICKED_UP, OrderStatus.CANCELLED);
+        allow(OrderStatus.PICKED_UP, OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+        // Terminal states
+        ALLOWED.put(OrderStatus.DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        ALLOWED.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        ALLOWED.put(OrderStatus.REJECTED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    private OrderStatusTransitions() {
+    }
+
+    public static boolean isAllowed(OrderStatus from, OrderStatus to) {
+        return ALLOWED.get(from).contains(to);
+    }
+
+    private static void allow(OrderStatus from, OrderStatus first, OrderStatus... rest) {
+        ALLOWED.put(from, EnumSet.of(first, rest));
+    }
+}
@@ -0,0 +1,42 @@
+package com.fooddelivery.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order event waiting to be published to RabbitMQ.
+ * Written in the same transaction as the order change and drained by OrderOutboxRelay.
+ */
+@Entity
+@Table(name = "order_outbox", indexes = {
+        @Index(name = "idx_order_outbox_sent", columnList = "sentAt, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String routingKey; // e.g. order.created
+
+    @Column(nullable = false)
+    private String eventType; // Fully qualified event class, sent as the __TypeId__ header
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // Event serialized as JSON
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt; // Null until the broker confirmed the message
+}
@@ -0,0 +1,38 @@
+package com.fooddelivery.orderservice.repository;
+
+import com.fooddelivery.orderservice.dto.OrderSummaryResponse;
+import com.fooddelivery.orderservice.model.ArchivedOrder;
+import com.fooddelivery.orderservice.model.ArchivedOrderId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, ArchivedOrderId> {
+
+    Optional<ArchivedOrder> findFirstByOrderId(Long orderId);
+
+    // Same keyset order as OrderRepository.findPageIdsByCustomerId
+    @Query("SELECT a FROM ArchivedOrder a WHERE a.customerId = :customerId " +
+            "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.orderId < :id)) " +
+            "ORDER BY a.createdAt DESC, a.orderId DESC")
+    List<ArchivedOrder> findPageByCustomerId(@Param("customerId") Long customerId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query("SELECT new com.fooddelivery.orderservice.dto.OrderSummaryResponse(" +
+            "a.orderId, a.customerId, a.restaurantId, a.total, a.status, a.paymentStatus) " +
+            "FROM ArchivedOrder a WHERE a.orderId IN :orderIds")
+    List<OrderSummaryResponse> findSummariesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT MIN(a.archiveMonth) FROM ArchivedOrder a")
+    Integer findOldestArchiveMonth();
+}
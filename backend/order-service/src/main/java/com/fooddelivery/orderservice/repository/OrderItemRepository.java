@@ -2,8 +2,12 @@ package com.fooddelivery.orderservice.repository;
 
 import com.fooddelivery.orderservice.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,8 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     // Find all items for an order
     List<OrderItem> findByOrderId(Long orderId);
 
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
 }
\ No newline at end of file
@@ -1,27 +1,123 @@
 package com.fooddelivery.orderservice.repository;
 
+import com.fooddelivery.orderservice.dto.OrderSummaryResponse;
 import com.fooddelivery.orderservice.model.Order;
 import com.fooddelivery.orderservice.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    // Find orders by customer
-    List<Order> findByCustomerId(Long customerId);
-
-    // Find orders by restaurant
-    List<Order> findByRestaurantId(Long restaurantId);
-
-    // Find orders by status
-    List<Order> findByStatus(OrderStatus status);
-
     // Find orders by customer and status
     List<Order> findByCustomerIdAndStatus(Long customerId, OrderStatus status);
 
     // Find orders by restaurant and status
     List<Order> findByRestaurantIdAndStatus(Long restaurantId, OrderStatus status);
-}
\ No newline at end of file
+
+    // Single order together with its items
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long id);
+
+    // Second phase of a paginated read: load a page of orders and all their items in one query
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Summaries are read as a projection, without loading the entity or its items
+    @Query("SELECT new com.fooddelivery.orderservice.dto.OrderSummaryResponse(" +
+            "o.id, o.customerId, o.restaurantId, o.total, o.status, o.paymentStatus) " +
+            "FROM Order o WHERE o.id IN :ids")
+    List<OrderSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pages of order ids, newest first. Each page starts strictly after (createdAt, id);
+    // the Pageable only carries the page size. Items are fetched separately by id so
+    // the LIMIT is applied in SQL rather than over a fetch-joined collection.
+
+    @Query("SELECT o.id FROM Order o " +
+            "WHERE (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findPageIds(@Param("createdAt") LocalDateTime createdAt,
+                           @Param("id") Long id,
+                           Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.customerId = :customerId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findPageIdsByCustomerId(@Param("customerId") Long customerId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.restaurantId = :restaurantId " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findPageIdsByRestaurantId(@Param("restaurantId") Long restaurantId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status " +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findPageIdsByStatus(@Param("status") OrderStatus status,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    // Restaurants that still have orders without a restaurant snapshot (rows created before it existed)
+    @Query("SELECT DISTINCT o.restaurantId FROM Order o WHERE o.restaurantName IS NULL")
+    List<Long> findRestaurantIdsMissingSnapshot();
+
+    // Runs in its own transaction so each restaurant is committed independently
+    @Transactional
+    @Modifying
+    @Query("UPDATE Order o SET o.restaurantName = :restaurantName, o.restaurantOwnerId = :restaurantOwnerId " +
+            "WHERE o.restaurantId = :restaurantId AND o.restaurantName IS NULL")
+    int backfillRestaurantSnapshot(@Param("restaurantId") Long restaurantId,
+                                   @Param("restaurantName") String restaurantName,
+                                   @Param("restaurantOwnerId") Long restaurantOwnerId);
+
+    // Finished orders old enough to archive, oldest first. Rows locked by another
+    // instance's archive run are skipped (lock timeout -2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM Order o WHERE o.status IN :statuses AND o.createdAt < :before ORDER BY o.createdAt, o.id")
+    List<Order> findArchivableForUpdate(@Param("statuses") Collection<OrderStatus> statuses,
+                                        @Param("before") LocalDateTime before,
+                                        Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MIN(o.createdAt) FROM Order o")
+    LocalDateTime findOldestCreatedAt();
+
+    // Dashboard reconciliation: one [restaurantId, status, count] row per pair
+    @Query("SELECT o.restaurantId, o.status, COUNT(o) FROM Order o " +
+            "WHERE o.restaurantId IN :restaurantIds GROUP BY o.restaurantId, o.status")
+    List<Object[]> countByRestaurantAndStatus(@Param("restaurantIds") Collection<Long> restaurantIds);
+
+    // [restaurantId, sum of totals] of orders delivered since the given time
+    @Query("SELECT o.restaurantId, SUM(o.total) FROM Order o " +
+            "WHERE o.restaurantId IN :restaurantIds AND o.status = :status AND o.actualDeliveryTime >= :since " +
+            "GROUP BY o.restaurantId")
+    List<Object[]> sumTotalsByRestaurant(@Param("restaurantIds") Collection<Long> restaurantIds,
+                                         @Param("status") OrderStatus status,
+                                         @Param("since") LocalDateTime since);
+}
@@ -0,0 +1,101 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.CartItemForOrderDTO;
+import com.fooddelivery.orderservice.dto.CreateOrderFromCartDTO;
+import com.fooddelivery.orderservice.model.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Checks the price token cart-service attaches to a checkout.
+ *
+ * At checkout cart-service validates every item with one restaurant-service call
+ * and sends the names and prices it got, signed with a secret both services share
+ * (same format as cart-service's CartPriceTokens). A valid token younger than
+ * order.cart-price-token.ttl-seconds lets createOrderFromCart use those items as
+ * they are instead of fetching the menu again. An empty secret disables this.
+ */
+@Component
+@Slf4j
+public class CartPriceTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+
+    private final byte[] secret;
+    private final long ttlMillis;
+
+    public CartPriceTokens(
+            @Value("${order.cart-price-token.secret:}") String secret,
+            @Value("${order.cart-price-token.ttl-seconds:60}") long ttlSeconds) {
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    // Whether the items' names and prices can be trusted without asking restaurant-service
+    public boolean isFresh(CreateOrderFromCartDTO dto) {
+        String token = dto.getPriceToken();
+        if (secret.length == 0 || token == null || dto.getItems() == null || dto.getItems().isEmpty()) {
+            return false;
+        }
+
+        String[] parts = token.split("\\.");
+        if (parts.length != 3 || !VERSION.equals(parts[0])) {
+            return false;
+        }
+
+        long issuedAt;
+        try {
+            issuedAt = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - issuedAt;
+        if (age < 0 || age > ttlMillis) {
+            log.debug("Cart price token for restaurant {} is {} ms old", dto.getRestaurantId(), age);
+            return false;
+        }
+
+        for (CartItemForOrderDTO item : dto.getItems()) {
+            if (item.getMenuItemId() == null || item.getItemName() == null || item.getPrice() == null) {
+                return false;
+            }
+        }
+
+        byte[] expected = sign(dto, issuedAt);
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private byte[] sign(CreateOrderFromCartDTO dto, long issuedAt) {
+        StringBuilder payload = new StringBuilder()
+                .append(dto.getRestaurantId()).append('|').append(issuedAt);
+        for (CartItemForOrderDTO item : dto.getItems()) {
+            payload.append('|').append(item.getMenuItemId())
+                    .append(':').append(Money.of(item.getPrice()))
+                    .append(':').append(item.getItemName().length())
+                    .append(':').append(item.getItemName());
+        }
+
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac.doFinal(payload.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not sign cart price token", e);
+        }
+    }
+}
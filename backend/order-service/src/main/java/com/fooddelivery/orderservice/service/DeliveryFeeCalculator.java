@@ -0,0 +1,17 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.GeoPoint;
+
+import java.math.BigDecimal;
+
+/**
+ * Prices delivery for an order. Implementations must not make remote calls;
+ * the engine is chosen with order.delivery-fee.engine (zone or flat).
+ */
+public interface DeliveryFeeCalculator {
+
+    /**
+     * Either location may be null when the restaurant or address has no coordinates.
+     */
+    BigDecimal calculate(GeoPoint restaurant, GeoPoint deliveryAddress);
+}
@@ -0,0 +1,23 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.GeoPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// Same fee for every order, the behaviour before zone pricing
+@Component
+@ConditionalOnProperty(name = "order.delivery-fee.engine", havingValue = "flat")
+public class FlatDeliveryFeeCalculator implements DeliveryFeeCalculator {
+
+    // Base fee for Egyptian market: 15 EGP
+    @Value("${order.delivery-fee.flat-fee:15.00}")
+    private BigDecimal flatFee;
+
+    @Override
+    public BigDecimal calculate(GeoPoint restaurant, GeoPoint deliveryAddress) {
+        return flatFee;
+    }
+}
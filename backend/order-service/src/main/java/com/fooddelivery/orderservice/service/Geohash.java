@@ -0,0 +1,64 @@
+package com.fooddelivery.orderservice.service;
+
+import java.util.Arrays;
+
+/**
+ * Geohash encoding, used to key the delivery zone table.
+ * A geohash cell contains every longer geohash that starts with it.
+ */
+final class Geohash {
+
+    static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        char[] hash = new char[precision];
+
+        boolean evenBit = true; // Bits alternate longitude, latitude, starting with longitude
+        for (int i = 0; i < precision; i++) {
+            int index = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (longitude >= mid) {
+                        index = (index << 1) | 1;
+                        minLon = mid;
+                    } else {
+                        index <<= 1;
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (latitude >= mid) {
+                        index = (index << 1) | 1;
+                        minLat = mid;
+                    } else {
+                        index <<= 1;
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+            hash[i] = BASE32[index];
+        }
+        return new String(hash);
+    }
+
+    static boolean isValid(String geohash) {
+        if (geohash.isEmpty() || geohash.length() > MAX_PRECISION) {
+            return false;
+        }
+        for (char c : geohash.toCharArray()) {
+            if (Arrays.binarySearch(BASE32, c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
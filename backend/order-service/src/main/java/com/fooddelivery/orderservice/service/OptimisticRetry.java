@@ -0,0 +1,60 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.exception.ConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs an order update in its own transaction and re-runs it from scratch when
+ * the order's @Version changed underneath it. Each attempt re-reads the order,
+ * so checks such as status transitions are made against the latest state.
+ * Gives up with a ConflictException (409) after order.optimistic-retry.max-attempts.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public OptimisticRetry(
+            PlatformTransactionManager transactionManager,
+            @Value("${order.optimistic-retry.max-attempts:3}") int maxAttempts,
+            @Value("${order.optimistic-retry.backoff-ms:20}") long backoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    public <T> T inTransaction(Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new ConflictException("The order was changed by another request. Please try again.");
+                }
+                log.debug("Order update conflict, retrying (attempt {} of {})", attempt + 1, maxAttempts);
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Linear backoff with jitter so colliding writers don't retry in lockstep
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(backoffMs * attempt + ThreadLocalRandom.current().nextLong(backoffMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("The order was changed by another request. Please try again.");
+        }
+    }
+}
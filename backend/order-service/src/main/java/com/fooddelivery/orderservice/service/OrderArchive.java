@@ -0,0 +1,211 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservice.dto.OrderCursor;
+import com.fooddelivery.orderservice.dto.OrderItemResponseDTO;
+import com.fooddelivery.orderservice.dto.OrderResponseDTO;
+import com.fooddelivery.orderservice.dto.OrderSummaryResponse;
+import com.fooddelivery.orderservice.model.ArchivedOrder;
+import com.fooddelivery.orderservice.model.Order;
+import com.fooddelivery.orderservice.model.OrderStatus;
+import com.fooddelivery.orderservice.repository.ArchivedOrderRepository;
+import com.fooddelivery.orderservice.repository.OrderItemRepository;
+import com.fooddelivery.orderservice.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Cold store for finished orders.
+ *
+ * A nightly job moves DELIVERED/CANCELLED/REJECTED orders created more than
+ * order.archive.after-days ago from orders/order_items into order_history,
+ * one chunk per transaction, so the hot tables and their indexes stay small.
+ * OrderService falls back to the reads here when an order isn't hot anymore.
+ */
+@Component
+@Slf4j
+public class OrderArchive {
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES =
+            EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED, OrderStatus.REJECTED);
+
+    private static final TypeReference<List<OrderItemResponseDTO>> ITEMS_TYPE = new TypeReference<>() {
+    };
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderHistoryPartitions partitions;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int afterDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public OrderArchive(
+            OrderRepository orderRepository,
+            OrderItemRepository orderItemRepository,
+            ArchivedOrderRepository archivedOrderRepository,
+            OrderHistoryPartitions partitions,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${order.archive.after-days:90}") int afterDays,
+            @Value("${order.archive.chunk-size:500}") int chunkSize,
+            @Value("${order.archive.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.partitions = partitions;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        partitions.ensurePartitions();
+
+        LocalDateTime cutoff = archiveCutoff();
+        int archived = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+        }
+        log.info("Archived {} orders created before {}", archived, cutoff);
+    }
+
+    // Orders created before this may be in the archive
+    public LocalDateTime archiveCutoff() {
+        return LocalDateTime.now().minusDays(afterDays);
+    }
+
+    public Optional<ArchivedOrder> findByOrderId(Long orderId) {
+        return archivedOrderRepository.findFirstByOrderId(orderId);
+    }
+
+    public List<OrderSummaryResponse> findSummaries(Collection<Long> orderIds) {
+        return archivedOrderRepository.findSummariesByOrderIdIn(orderIds);
+    }
+
+    public List<OrderResponseDTO> findCustomerPage(Long customerId, OrderCursor after, int limit) {
+        return archivedOrderRepository.findPageByCustomerId(
+                        customerId, after.getCreatedAt(), after.getId(), PageRequest.of(0, limit))
+                .stream()
+                .map(this::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    public OrderResponseDTO toResponseDTO(ArchivedOrder archived) {
+        OrderResponseDTO dto = new OrderResponseDTO();
+        dto.setId(archived.getOrderId());
+        dto.setCustomerId(archived.getCustomerId());
+        dto.setRestaurantId(archived.getRestaurantId());
+        dto.setRestaurantName(archived.getRestaurantName() != null ? archived.getRestaurantName() : "Restaurant");
+        dto.setDeliveryAddressId(archived.getDeliveryAddressId());
+        dto.setItems(readItems(archived));
+        dto.setSubtotal(archived.getSubtotal());
+        dto.setDeliveryFee(archived.getDeliveryFee());
+        dto.setTax(archived.getTax());
+        dto.setTotal(archived.getTotal());
+        dto.setStatus(archived.getStatus());
+        dto.setPaymentStatus(archived.getPaymentStatus());
+        dto.setSpecialInstructions(archived.getSpecialInstructions());
+        dto.setEstimatedDeliveryTime(archived.getEstimatedDeliveryTime());
+        dto.setActualDeliveryTime(archived.getActualDeliveryTime());
+        dto.setCreatedAt(archived.getCreatedAt());
+        dto.setUpdatedAt(archived.getUpdatedAt());
+        return dto;
+    }
+
+    // Copy, then delete with set-based statements; a failure rolls back the whole chunk
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Order> orders = orderRepository.findArchivableForUpdate(
+                TERMINAL_STATUSES, cutoff, PageRequest.of(0, chunkSize));
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+        LocalDateTime archivedAt = LocalDateTime.now();
+        List<ArchivedOrder> archived = orderRepository.findAllWithItemsByIdIn(orderIds).stream()
+                .map(order -> toArchived(order, archivedAt))
+                .collect(Collectors.toList());
+
+        archivedOrderRepository.saveAll(archived);
+        archivedOrderRepository.flush();
+        orderItemRepository.deleteByOrderIdIn(orderIds);
+        orderRepository.deleteByIdIn(orderIds);
+        return orderIds.size();
+    }
+
+    private ArchivedOrder toArchived(Order order, LocalDateTime archivedAt) {
+        ArchivedOrder archived = new ArchivedOrder();
+        archived.setOrderId(order.getId());
+        archived.setArchiveMonth(OrderHistoryPartitions.archiveMonth(order.getCreatedAt()));
+        archived.setCustomerId(order.getCustomerId());
+        archived.setRestaurantId(order.getRestaurantId());
+        archived.setRestaurantName(order.getRestaurantName());
+        archived.setRestaurantOwnerId(order.getRestaurantOwnerId());
+        archived.setDeliveryAddressId(order.getDeliveryAddressId());
+        archived.setDeliveryAddress(order.getDeliveryAddress());
+        archived.setItems(writeItems(order));
+        archived.setSubtotal(order.getSubtotal());
+        archived.setDeliveryFee(order.getDeliveryFee());
+        archived.setTax(order.getTax());
+        archived.setTotal(order.getTotal());
+        archived.setStatus(order.getStatus());
+        archived.setPaymentStatus(order.getPaymentStatus());
+        archived.setSpecialInstructions(order.getSpecialInstructions());
+        archived.setEstimatedDeliveryTime(order.getEstimatedDeliveryTime());
+        archived.setActualDeliveryTime(order.getActualDeliveryTime());
+        archived.setCreatedAt(order.getCreatedAt());
+        archived.setUpdatedAt(order.getUpdatedAt());
+        archived.setArchivedAt(archivedAt);
+        return archived;
+    }
+
+    private String writeItems(Order order) {
+        List<OrderItemResponseDTO> items = order.getItems().stream()
+                .map(item -> new OrderItemResponseDTO(
+                        item.getId(),
+                        item.getMenuItemId(),
+                        item.getItemName(),
+                        item.getQuantity(),
+                        item.getPrice(),
+                        item.getCustomizations()))
+                .collect(Collectors.toList());
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize items of order " + order.getId(), e);
+        }
+    }
+
+    private List<OrderItemResponseDTO> readItems(ArchivedOrder archived) {
+        try {
+            return objectMapper.readValue(archived.getItems(), ITEMS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read items of archived order " + archived.getOrderId(), e);
+        }
+    }
+}
@@ -1,52 +1,87 @@
 package com.fooddelivery.orderservice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fooddelivery.orderservice.config.RabbitMQConfig;
 import com.fooddelivery.orderservice.event.*;
+import com.fooddelivery.orderservice.model.OutboxEvent;
+import com.fooddelivery.orderservice.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Records order events in the outbox table as part of the caller's transaction.
+ * OrderOutboxRelay publishes them to RabbitMQ once the transaction has committed.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
     public void publishOrderCreated(OrderCreatedEvent event) {
-        log.info("Publishing ORDER_CREATED event for order: {}", event.getOrderId());
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.ORDER_EXCHANGE,
-                RabbitMQConfig.ORDER_CREATED_KEY,
-                event
-        );
+        log.info("Queueing ORDER_CREATED event for order: {}", event.getOrderId());
+        enqueue(RabbitMQConfig.ORDER_CREATED_KEY, event);
     }
 
-    public void publishOrderConfirmed(OrderConfirmedEvent event) {
-        log.info("Publishing ORDER_CONFIRMED event for order: {}", event.getOrderId());
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.ORDER_EXCHANGE,
-                RabbitMQConfig.ORDER_CONFIRMED_KEY,
-                event
-        );
+    public void publishOrderCancelled(OrderCancelledEvent event) {
+        log.info("Queueing ORDER_CANCELLED event for order: {}", event.getOrderId());
+        enqueue(RabbitMQConfig.ORDER_CANCELLED_KEY, event);
     }
 
-    public void publishOrderReady(OrderReadyEvent event) {
-        log.info("Publishing ORDER_READY event for order: {}", event.getOrderId());
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.ORDER_EXCHANGE,
-                RabbitMQConfig.ORDER_READY_KEY,
-                event
-        );
+    public void publishOrderStatusChanged(OrderStatusChangedEvent event) {
+        log.debug("Queueing ORDER_STATUS_CHANGED event for order: {}", event.getOrderId());
+        enqueue(RabbitMQConfig.ORDER_STATUS_CHANGED_KEY, event);
     }
 
-    public void publishOrderCancelled(OrderCancelledEvent event) {
-        log.info("Publishing ORDER_CANCELLED event for order: {}", event.getOrderId());
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.ORDER_EXCHANGE,
-                RabbitMQConfig.ORDER_CANCELLED_KEY,
-                event
-        );
+    // Bulk status updates queue all of their events in the caller's transaction. OutboxEvent
+    // ids are IDENTITY, so Hibernate can't batch the inserts: this is still one INSERT per event
+    public void publishAll(List<?> events) {
+        log.info("Queueing {} order events", events.size());
+        List<OutboxEvent> outboxEvents = events.stream()
+                .map(event -> toOutboxEvent(routingKeyFor(event), event))
+                .collect(Collectors.toList());
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    private void enqueue(String routingKey, Object event) {
+        outboxEventRepository.save(toOutboxEvent(routingKey, event));
+    }
+
+    private OutboxEvent toOutboxEvent(String routingKey, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setRoutingKey(routingKey);
+        outboxEvent.setEventType(event.getClass().getName());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+        return outboxEvent;
+    }
+
+    private String routingKeyFor(Object event) {
+        if (event instanceof OrderCreatedEvent) {
+            return RabbitMQConfig.ORDER_CREATED_KEY;
+        }
+        if (event instanceof OrderConfirmedEvent) {
+            return RabbitMQConfig.ORDER_CONFIRMED_KEY;
+        }
+        if (event instanceof OrderReadyEvent) {
+            return RabbitMQConfig.ORDER_READY_KEY;
+        }
+        if (event instanceof OrderCancelledEvent) {
+            return RabbitMQConfig.ORDER_CANCELLED_KEY;
+        }
+        if (event instanceof OrderStatusChangedEvent) {
+            return RabbitMQConfig.ORDER_STATUS_CHANGED_KEY;
+        }
+        throw new IllegalArgumentException("Unknown order event " + event.getClass().getName());
     }
 }
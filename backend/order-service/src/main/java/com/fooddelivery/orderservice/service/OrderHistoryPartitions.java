@@ -0,0 +1,112 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.repository.ArchivedOrderRepository;
+import com.fooddelivery.orderservice.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Keeps order_history range-partitioned by archive_month on MySQL, one partition
+ * per month plus a catch-all pmax. ddl-auto creates the table unpartitioned; the
+ * first call partitions it and later calls split pmax so that there is always a
+ * partition for next month. Other databases (e.g. H2 in tests) are left alone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderHistoryPartitions {
+
+    private static final String TABLE = "order_history";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+
+    public static int archiveMonth(LocalDateTime createdAt) {
+        return createdAt.getYear() * 100 + createdAt.getMonthValue();
+    }
+
+    public void ensurePartitions() {
+        if (!isMySql()) {
+            return;
+        }
+
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", TABLE);
+        if (partitions.isEmpty()) {
+            return; // Table not created yet
+        }
+
+        YearMonth last = YearMonth.now().plusMonths(1);
+
+        if (partitions.size() == 1 && partitions.get(0).get("PARTITION_NAME") == null) {
+            YearMonth first = oldestMonth();
+            String ddl = "ALTER TABLE " + TABLE + " PARTITION BY RANGE (archive_month) (" + monthPartitions(first, last) + ")";
+            log.info("Partitioning {} by month from {} to {}", TABLE, first, last);
+            jdbcTemplate.execute(ddl);
+            return;
+        }
+
+        int upperBound = partitions.stream()
+                .map(p -> (String) p.get("PARTITION_DESCRIPTION"))
+                .filter(description -> description != null && !"MAXVALUE".equals(description))
+                .mapToInt(Integer::parseInt)
+                .max()
+                .orElse(0);
+        YearMonth next = YearMonth.of(upperBound / 100, upperBound % 100);
+        if (next.isAfter(last)) {
+            return;
+        }
+
+        log.info("Adding {} partitions from {} to {}", TABLE, next, last);
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION pmax INTO (" + monthPartitions(next, last) + ")");
+    }
+
+    // One partition per month in [from, to], then pmax
+    private String monthPartitions(YearMonth from, YearMonth to) {
+        StringJoiner partitions = new StringJoiner(", ");
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            YearMonth next = month.plusMonths(1);
+            partitions.add("PARTITION p" + toInt(month) + " VALUES LESS THAN (" + toInt(next) + ")");
+        }
+        partitions.add("PARTITION pmax VALUES LESS THAN MAXVALUE");
+        return partitions.toString();
+    }
+
+    private YearMonth oldestMonth() {
+        YearMonth oldest = YearMonth.now();
+
+        Integer oldestArchived = archivedOrderRepository.findOldestArchiveMonth();
+        if (oldestArchived != null) {
+            YearMonth month = YearMonth.of(oldestArchived / 100, oldestArchived % 100);
+            oldest = month.isBefore(oldest) ? month : oldest;
+        }
+
+        LocalDateTime oldestOrder = orderRepository.findOldestCreatedAt();
+        if (oldestOrder != null) {
+            YearMonth month = YearMonth.from(oldestOrder);
+            oldest = month.isBefore(oldest) ? month : oldest;
+        }
+        return oldest;
+    }
+
+    private int toInt(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "MySQL".equalsIgnoreCase(product);
+    }
+}
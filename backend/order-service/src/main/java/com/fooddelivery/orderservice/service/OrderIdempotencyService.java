@@ -0,0 +1,220 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservice.dto.CreateOrderFromCartDTO;
+import com.fooddelivery.orderservice.dto.OrderResponseDTO;
+import com.fooddelivery.orderservice.exception.BadRequestException;
+import com.fooddelivery.orderservice.model.IdempotencyRecord;
+import com.fooddelivery.orderservice.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates order creation requests that carry an Idempotency-Key header.
+ *
+ * The first request with a key creates the order and stores its response in the
+ * same transaction. Retries with the same key and body get the stored response
+ * back without validation, pricing or events running again; a different body
+ * is rejected. A checkout from cart is compared by what it orders, not by its
+ * price token, which is re-signed on every attempt. Records live in memory
+ * (bounded, TTL) in front of the order_idempotency_keys table and expire after
+ * order.idempotency.ttl-hours.
+ */
+@Service
+@Slf4j
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Cache<String, IdempotencyRecord> recentRecords;
+
+    public OrderIdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${order.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${order.idempotency.cache-max-size:10000}") long cacheMaxSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.recentRecords = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, recentRecords, "orderIdempotency");
+    }
+
+    /**
+     * Runs createOrder once per (customer, key). Without a key the call is not deduplicated.
+     */
+    public OrderResponseDTO execute(Long customerId, String idempotencyKey, Object request,
+                                    Supplier<OrderResponseDTO> createOrder) {
+        if (idempotencyKey == null) {
+            return createOrder.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+        IdempotencyRecord existing = find(customerId, idempotencyKey);
+        if (existing != null) {
+            return replay(existing, requestHash);
+        }
+
+        IdempotencyRecord record;
+        try {
+            // OrderService.createOrder joins this transaction, so the order and its key commit together
+            record = transactionTemplate.execute(status -> {
+                OrderResponseDTO response = createOrder.get();
+                return idempotencyRecordRepository.saveAndFlush(
+                        newRecord(customerId, idempotencyKey, requestHash, response));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first; ours was rolled back
+            IdempotencyRecord winner = idempotencyRecordRepository
+                    .findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey)
+                    .orElseThrow(() -> e);
+            recentRecords.put(cacheKey(customerId, idempotencyKey), winner);
+            return replay(winner, requestHash);
+        }
+
+        recentRecords.put(cacheKey(customerId, idempotencyKey), record);
+        return readResponse(record);
+    }
+
+    @Scheduled(cron = "${order.idempotency.cleanup-cron:0 30 3 * * *}")
+    public void deleteExpiredRecords() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired idempotency keys", deleted);
+    }
+
+    // Memory first, then the table. Expired rows not yet cleaned up are dropped so the key can be reused.
+    private IdempotencyRecord find(Long customerId, String idempotencyKey) {
+        String cacheKey = cacheKey(customerId, idempotencyKey);
+        IdempotencyRecord record = recentRecords.getIfPresent(cacheKey);
+        if (record == null) {
+            record = idempotencyRecordRepository
+                    .findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey)
+                    .orElse(null);
+        }
+        if (record == null) {
+            return null;
+        }
+
+        if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+            recentRecords.invalidate(cacheKey);
+            idempotencyRecordRepository.delete(record);
+            return null;
+        }
+
+        recentRecords.put(cacheKey, record);
+        return record;
+    }
+
+    private OrderResponseDTO replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new BadRequestException(
+                    "Idempotency-Key was already used for a different request");
+        }
+        log.debug("Replaying order {} for idempotency key {}", record.getOrderId(), record.getIdempotencyKey());
+        return readResponse(record);
+    }
+
+    private IdempotencyRecord newRecord(Long customerId, String idempotencyKey,
+                                        String requestHash, OrderResponseDTO response) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setCustomerId(customerId);
+        record.setIdempotencyKey(idempotencyKey);
+        record.setRequestHash(requestHash);
+        record.setOrderId(response.getId());
+        record.setResponse(writeJson(response));
+        record.setExpiresAt(LocalDateTime.now().plus(ttl));
+        return record;
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(canonical(request)));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash order request", e);
+        }
+    }
+
+    // What a cart checkout orders: customer, restaurant, address, instructions and items.
+    // The price token and the menu names/prices it vouches for are left out, so a retried
+    // checkout (new token, possibly a repriced menu) still matches the order it created.
+    private Object canonical(Object request) {
+        if (!(request instanceof CreateOrderFromCartDTO)) {
+            return request;
+        }
+        CreateOrderFromCartDTO dto = (CreateOrderFromCartDTO) request;
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("customerId", dto.getCustomerId());
+        snapshot.put("restaurantId", dto.getRestaurantId());
+        snapshot.put("deliveryAddressId", dto.getDeliveryAddressId());
+        snapshot.put("specialInstructions", dto.getSpecialInstructions());
+        snapshot.put("items", dto.getItems() == null ? List.of() : dto.getItems().stream()
+                .map(item -> {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("menuItemId", item.getMenuItemId());
+                    line.put("quantity", item.getQuantity());
+                    line.put("customizations", item.getCustomizations());
+                    return line;
+                })
+                .collect(Collectors.toList()));
+        return snapshot;
+    }
+
+    private String writeJson(OrderResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize order " + response.getId(), e);
+        }
+    }
+
+    private OrderResponseDTO readResponse(IdempotencyRecord record) {
+        try {
+            return objectMapper.readValue(record.getResponse(), OrderResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored response for order " + record.getOrderId(), e);
+        }
+    }
+
+    private String cacheKey(Long customerId, String idempotencyKey) {
+        return customerId + ":" + idempotencyKey;
+    }
+}
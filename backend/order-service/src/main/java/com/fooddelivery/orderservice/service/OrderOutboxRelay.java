@@ -0,0 +1,92 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.config.RabbitMQConfig;
+import com.fooddelivery.orderservice.model.OutboxEvent;
+import com.fooddelivery.orderservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the order outbox to RabbitMQ in batches.
+ *
+ * A batch is only marked sent after the broker confirmed every message in it, so
+ * delivery is at-least-once: consumers may see a duplicate (same message id) after
+ * a crash between publishing and marking. Requires
+ * spring.rabbitmq.publisher-confirm-type=simple.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${order.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order.outbox.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${order.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:500}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> batch = outboxEventRepository.findUnsentForUpdate(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutboxEvent event : batch) {
+                    operations.send(RabbitMQConfig.ORDER_EXCHANGE, event.getRoutingKey(), toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                return null;
+            });
+        } catch (Exception e) {
+            // Rows stay unsent and are retried on the next run
+            log.warn("Failed to relay {} order events: {}", batch.size(), e.getMessage());
+            return;
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        outboxEventRepository.markSent(ids, LocalDateTime.now());
+        log.debug("Relayed {} order events", ids.size());
+    }
+
+    // Sent rows are only kept for troubleshooting
+    @Scheduled(cron = "${order.outbox.cleanup-cron:0 0 3 * * *}")
+    @Transactional
+    public void deleteSentEvents() {
+        int deleted = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Deleted {} relayed order events older than {} days", deleted, retentionDays);
+    }
+
+    // Same wire format as Jackson2JsonMessageConverter, so consumers are unaffected
+    private Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setHeader("__TypeId__", event.getEventType())
+                .setMessageId("order-outbox-" + event.getId())
+                .build();
+    }
+}
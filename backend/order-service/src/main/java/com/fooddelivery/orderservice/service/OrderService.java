@@ -5,27 +5,42 @@ import com.fooddelivery.orderservice.event.*;
 import com.fooddelivery.orderservice.exception.BadRequestException;
 import com.fooddelivery.orderservice.exception.ForbiddenOperationException;
 import com.fooddelivery.orderservice.exception.ResourceNotFoundException;
+import com.fooddelivery.orderservice.exception.ServiceUnavailableException;
 import com.fooddelivery.orderservice.exception.UnauthorizedException;
 import com.fooddelivery.orderservice.feign.RestaurantServiceClient;
 import com.fooddelivery.orderservice.feign.UserServiceClient;
-import com.fooddelivery.orderservice.feign.DeliveryServiceClient;
+import com.fooddelivery.orderservice.model.ArchivedOrder;
+import com.fooddelivery.orderservice.model.Money;
 import com.fooddelivery.orderservice.model.Order;
 import com.fooddelivery.orderservice.model.OrderItem;
 import com.fooddelivery.orderservice.model.OrderStatus;
+import com.fooddelivery.orderservice.model.OrderStatusTransitions;
 import com.fooddelivery.orderservice.model.PaymentStatus;
 import com.fooddelivery.orderservice.repository.OrderRepository;
 // import com.fooddelivery.cartservice.dto.*;
 import java.util.HashMap;
 import feign.FeignException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,50 +56,130 @@ public class OrderService {
     private RestaurantServiceClient restaurantServiceClient;
 
     @Autowired
-    private DeliveryServiceClient deliveryServiceClient;
+    private RestaurantDirectory restaurantDirectory;
+
+    @Autowired
+    private DeliveryFeeCalculator deliveryFeeCalculator;
+
+    // Order updates run through this instead of @Transactional so version conflicts are retried
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
+    @Autowired
+    @Qualifier("orderValidationExecutor")
+    private Executor validationExecutor;
+
+    // Overall deadline for the pre-order dependency checks
+    @Value("${order.validation.timeout-ms:3000}")
+    private long validationTimeoutMs;
 
     @Autowired
     private OrderEventPublisher eventPublisher; //added for rabbitmq integration
 
+    @Autowired
+    private OrderStreamRegistry orderStreamRegistry;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Autowired
+    private RestaurantDashboards restaurantDashboards;
+
+    @Autowired
+    private CartPriceTokens cartPriceTokens;
+
+    // Order listings are keyset-paginated to keep memory per request bounded
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int VAT_PERCENT = 14;
+
     public OrderSummaryResponse getOrderSummary(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Order not found with id: " + orderId));
+        List<OrderSummaryResponse> summaries = getOrderSummaries(List.of(orderId));
+        if (summaries.isEmpty()) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+        return summaries.get(0);
+    }
 
-        return new OrderSummaryResponse(
-                order.getId(),
-                order.getCustomerId(),
-                order.getTotal(),
-                order.getStatus(),
-                order.getPaymentStatus()
-        );
+    /**
+     * Summaries of the given orders in request order, read as a projection in one query.
+     * Ids not in the orders table are looked up in the archive; unknown ids are left out.
+     */
+    public List<OrderSummaryResponse> getOrderSummaries(List<Long> orderIds) {
+        List<Long> distinctIds = orderIds.stream().distinct().collect(Collectors.toList());
+
+        Map<Long, OrderSummaryResponse> summariesById = new HashMap<>();
+        for (OrderSummaryResponse summary : orderRepository.findSummariesByIdIn(distinctIds)) {
+            summariesById.put(summary.getOrderId(), summary);
+        }
+
+        List<Long> missingIds = distinctIds.stream()
+                .filter(id -> !summariesById.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            for (OrderSummaryResponse summary : orderArchive.findSummaries(missingIds)) {
+                summariesById.put(summary.getOrderId(), summary);
+            }
+        }
+
+        return distinctIds.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     @Transactional
     public OrderResponseDTO createOrder(CreateOrderDTO dto, Long customerId) {
+        return createOrder(dto, customerId, null);
+    }
 
-        // Controller already validated user is CUSTOMER
-        // Just verify customer profile exists
-        validateCustomerExists(customerId);
+    // knownMenuItems: menu items already validated by the caller, or null to fetch them
+    private OrderResponseDTO createOrder(CreateOrderDTO dto, Long customerId,
+                                         Map<Long, Map<String, Object>> knownMenuItems) {
 
-        validateRestaurantExists(dto.getRestaurantId());
+        // Controller already validated user is CUSTOMER.
+        // The dependency checks below are independent remote calls, so they run
+        // concurrently and the first failure is reported.
+        CompletableFuture<Void> customerCheck = CompletableFuture.runAsync(
+                () -> validateCustomerExists(customerId), validationExecutor);
+
+        CompletableFuture<RestaurantInfo> restaurantLookup = CompletableFuture.supplyAsync(
+                () -> loadRestaurant(dto.getRestaurantId()), validationExecutor);
 
         // Address Validation
-        validateAddressOwnership(dto.getDeliveryAddressId(), customerId);
+        CompletableFuture<Void> addressCheck = CompletableFuture.runAsync(
+                () -> validateAddressOwnership(dto.getDeliveryAddressId(), customerId), validationExecutor);
+
+        // One round trip for every item instead of two per item
+        CompletableFuture<Map<Long, Map<String, Object>>> menuItemsLookup = knownMenuItems != null
+                ? CompletableFuture.completedFuture(knownMenuItems)
+                : CompletableFuture.supplyAsync(
+                        () -> fetchMenuItems(dto.getRestaurantId(), dto.getItems()), validationExecutor);
+
+        // Snapshot of the delivery address, later handed to delivery-service with the ready event,
+        // and its coordinates for delivery pricing
+        CompletableFuture<DeliveryAddressInfo> deliveryAddressLookup = CompletableFuture.supplyAsync(
+                () -> fetchDeliveryAddress(customerId, dto.getDeliveryAddressId()), validationExecutor);
 
-        validateMenuItems(dto.getRestaurantId(), dto.getItems());
+        awaitAll(customerCheck, restaurantLookup, addressCheck, menuItemsLookup, deliveryAddressLookup);
+        Map<Long, Map<String, Object>> menuItems = menuItemsLookup.join();
+        RestaurantInfo restaurant = restaurantLookup.join();
+        DeliveryAddressInfo deliveryAddress = deliveryAddressLookup.join();
 
         Order order = new Order();
         order.setCustomerId(customerId);
         order.setRestaurantId(dto.getRestaurantId());
+        order.setRestaurantName(restaurant.getName());
+        order.setRestaurantOwnerId(restaurant.getOwnerId());
         order.setDeliveryAddressId(dto.getDeliveryAddressId());
+        order.setDeliveryAddress(deliveryAddress.getAddress());
         order.setSpecialInstructions(dto.getSpecialInstructions());
         order.setStatus(OrderStatus.PENDING);
         order.setPaymentStatus(PaymentStatus.PENDING);
 
         for (OrderItemDTO itemDTO : dto.getItems()) {
             // Fetch menu item details to get the ACTUAL price
-            Map<String, Object> menuItem = fetchMenuItem(dto.getRestaurantId(), itemDTO.getMenuItemId());
+            Map<String, Object> menuItem = menuItems.get(itemDTO.getMenuItemId());
 
             // Verify menu item is available
             Boolean isAvailable = (Boolean) menuItem.get("isAvailable");
@@ -101,62 +196,80 @@ public class OrderService {
 
             item.setQuantity(itemDTO.getQuantity());
 
-            Object priceObj = menuItem.get("price");
-            BigDecimal actualPrice;
-            if (priceObj instanceof Double) {
-                actualPrice = BigDecimal.valueOf((Double) priceObj);
-            } else if (priceObj instanceof Integer) {
-                actualPrice = BigDecimal.valueOf((Integer) priceObj);
-            } else if (priceObj instanceof BigDecimal) {
-                actualPrice = (BigDecimal) priceObj;
-            } else {
+            Money actualPrice;
+            try {
+                actualPrice = Money.fromJson(menuItem.get("price"));
+            } catch (RuntimeException e) {
                 throw new BadRequestException("Invalid price format for menu item " + itemDTO.getMenuItemId());
             }
-            item.setPrice(actualPrice);
+            item.setPrice(actualPrice.toBigDecimal());
 
             item.setCustomizations(itemDTO.getCustomizations());
             order.addItem(item);
         }
 
-        order.setSubtotal(calculateSubtotal(order));
-        order.setTax(calculateTax(order));
-        order.setDeliveryFee(calculateDeliveryFee(dto.getRestaurantId(), dto.getDeliveryAddressId()));
-        order.setTotal(order.getSubtotal().add(order.getDeliveryFee()).add(order.getTax()));
+        Money subtotal = calculateSubtotal(order);
+        Money tax = calculateTax(subtotal);
+        Money deliveryFee = Money.of(
+                deliveryFeeCalculator.calculate(restaurant.getLocation(), deliveryAddress.getLocation()));
+        order.setSubtotal(subtotal.toBigDecimal());
+        order.setTax(tax.toBigDecimal());
+        order.setDeliveryFee(deliveryFee.toBigDecimal());
+        order.setTotal(subtotal.plus(deliveryFee).plus(tax).toBigDecimal());
         order.setEstimatedDeliveryTime(LocalDateTime.now().plusMinutes(45));
-        Order savedOrder = orderRepository.save(order);
 
-        // Added - Publish ORDER_CREATED event
-        try {
-            String restaurantName = getRestaurantName(dto.getRestaurantId());
-            Long restaurantOwnerId = getRestaurantOwnerId(dto.getRestaurantId());
-            eventPublisher.publishOrderCreated(new OrderCreatedEvent(
-                    savedOrder.getId(),
-                    customerId,
-                    dto.getRestaurantId(),
-                    restaurantOwnerId,
-                    restaurantName
-            ));
-        } catch (Exception e) {
-            // Log but don't fail the order creation if event publishing fails
-            System.err.println("Failed to publish ORDER_CREATED event: " + e.getMessage());
-        }
+        // Resolved before saving: the events below are queued in this transaction,
+        // so the order is only created together with them
+        Long restaurantOwnerId = getRestaurantOwnerId(order);
+        String restaurantName = getRestaurantName(order);
+
+        Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishOrderStatusChanged(statusSnapshot(savedOrder, null));
+        eventPublisher.publishOrderCreated(new OrderCreatedEvent(
+                savedOrder.getId(),
+                customerId,
+                dto.getRestaurantId(),
+                restaurantOwnerId,
+                restaurantName
+        ));
 
         return convertToResponseDTO(savedOrder);
     }
 
     public OrderResponseDTO getOrderById(Long orderId, Long userId, String userRole) {
+        Order order = orderRepository.findWithItemsById(orderId).orElse(null);
+        if (order != null) {
+            verifyCanView(order.getCustomerId(), order.getRestaurantId(), order.getRestaurantOwnerId(), userId, userRole);
+            return convertToResponseDTO(order);
+        }
+
+        // Finished orders move to the history table after order.archive.after-days
+        ArchivedOrder archived = orderArchive.findByOrderId(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        verifyCanView(archived.getCustomerId(), archived.getRestaurantId(), archived.getRestaurantOwnerId(), userId, userRole);
+        return orderArchive.toResponseDTO(archived);
+    }
+
+    // Live status updates for one order; authorization is checked once, when subscribing
+    public SseEmitter streamOrderStatus(Long orderId, Long userId, String userRole) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
+        verifyCanView(order.getCustomerId(), order.getRestaurantId(), order.getRestaurantOwnerId(), userId, userRole);
+        return orderStreamRegistry.subscribe(orderId, statusSnapshot(order, order.getStatus()));
+    }
+
+    private void verifyCanView(Long customerId, Long restaurantId, Long restaurantOwnerId,
+                               Long userId, String userRole) {
         // Authorization checks
         boolean isAuthorized = false;
 
         if ("ADMIN".equals(userRole)) {
             isAuthorized = true;
         } else if ("CUSTOMER".equals(userRole)) {
-            isAuthorized = order.getCustomerId().equals(userId);
+            isAuthorized = customerId.equals(userId);
         } else if ("RESTAURANT_OWNER".equals(userRole)) {
-            isAuthorized = verifyRestaurantOwnership(order.getRestaurantId(), userId);
+            isAuthorized = isRestaurantOwner(restaurantId, restaurantOwnerId, userId);
         }
 
         if (!isAuthorized) {
@@ -164,25 +277,45 @@ public class OrderService {
                     "You are not authorized to view this order"
             );
         }
-
-        return convertToResponseDTO(order);
     }
 
-    public List<OrderResponseDTO> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+    public OrderPageResponse getAllOrders(String cursor, Integer limit) {
+        OrderCursor after = OrderCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        List<Long> orderIds = orderRepository.findPageIds(
+                after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return toPage(orderIds, pageSize);
     }
 
-    public List<OrderResponseDTO> getOrdersByCustomerId(Long customerId) {
-        List<Order> orders = orderRepository.findByCustomerId(customerId);
-        return orders.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+    public OrderPageResponse getOrdersByCustomerId(Long customerId, String cursor, Integer limit) {
+        OrderCursor after = OrderCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        List<Long> orderIds = orderRepository.findPageIdsByCustomerId(
+                customerId, after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMoreHot = orderIds.size() > pageSize;
+        List<Order> hot = findAllWithItems(hasMoreHot ? orderIds.subList(0, pageSize) : orderIds);
+
+        // Archived orders are all older than the cutoff, so a full hot page that
+        // doesn't reach back that far can be served without touching the history table.
+        // The ids may have been archived since they were read, leaving the page empty
+        if (hasMoreHot && !hot.isEmpty() && !hot.get(hot.size() - 1).getCreatedAt().isBefore(orderArchive.archiveCutoff())) {
+            return toPage(hot.stream().map(this::convertToResponseDTO).collect(Collectors.toList()), true);
+        }
+
+        List<OrderResponseDTO> merged = new ArrayList<>();
+        hot.forEach(order -> merged.add(convertToResponseDTO(order)));
+        merged.addAll(orderArchive.findCustomerPage(customerId, after, pageSize + 1));
+        merged.sort(Comparator.comparing(OrderResponseDTO::getCreatedAt)
+                .thenComparing(OrderResponseDTO::getId)
+                .reversed());
+
+        boolean hasMore = hasMoreHot || merged.size() > pageSize;
+        return toPage(merged.size() > pageSize ? merged.subList(0, pageSize) : merged, hasMore);
     }
 
-    public List<OrderResponseDTO> getOrdersByRestaurantId(Long restaurantId, Long userId, String userRole) {
+    public OrderPageResponse getOrdersByRestaurantId(Long restaurantId, Long userId, String userRole,
+                                                     String cursor, Integer limit) {
         // Verify ownership if not admin
         if (!"ADMIN".equals(userRole)) {
             boolean isOwner = verifyRestaurantOwnership(restaurantId, userId);
@@ -193,141 +326,239 @@ public class OrderService {
             }
         }
 
-        List<Order> orders = orderRepository.findByRestaurantId(restaurantId);
-        return orders.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        OrderCursor after = OrderCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        List<Long> orderIds = orderRepository.findPageIdsByRestaurantId(
+                restaurantId, after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return toPage(orderIds, pageSize);
     }
 
-    public List<OrderResponseDTO> getOrdersByStatus(OrderStatus status) {
-        List<Order> orders = orderRepository.findByStatus(status);
-        return orders.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+    // Served from in-memory counters, see RestaurantDashboards
+    public RestaurantDashboardDTO getRestaurantDashboard(Long restaurantId, Long userId, String userRole) {
+        if (!"ADMIN".equals(userRole) && !verifyRestaurantOwnership(restaurantId, userId)) {
+            throw new ForbiddenOperationException(
+                    "You are not authorized to view the dashboard for this restaurant"
+            );
+        }
+
+        return restaurantDashboards.get(restaurantId);
     }
 
-    @Transactional
-    public OrderResponseDTO updateOrderStatus(Long orderId, UpdateOrderStatusDTO dto) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+    public OrderPageResponse getOrdersByStatus(OrderStatus status, String cursor, Integer limit) {
+        OrderCursor after = OrderCursor.decode(cursor);
+        int pageSize = resolvePageSize(limit);
+        List<Long> orderIds = orderRepository.findPageIdsByStatus(
+                status, after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return toPage(orderIds, pageSize);
+    }
 
-        // Validate status transition
-        validateStatusTransition(order.getStatus(), dto.getStatus());
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
 
-        order.setStatus(dto.getStatus());
+    // Repository queries fetch one extra id so we know whether another page exists.
+    // The page itself is then loaded with its items in a single fetch-join query.
+    private OrderPageResponse toPage(List<Long> orderIds, int pageSize) {
+        boolean hasMore = orderIds.size() > pageSize;
+        List<Long> pageIds = hasMore ? orderIds.subList(0, pageSize) : orderIds;
 
-        // If delivered, set actual delivery time
-        if (dto.getStatus() == OrderStatus.DELIVERED) {
-            order.setActualDeliveryTime(LocalDateTime.now());
+        List<OrderResponseDTO> items = findAllWithItems(pageIds).stream()
+                .map(this::convertToResponseDTO)
+                .collect(Collectors.toList());
+
+        return toPage(items, hasMore);
+    }
+
+    private OrderPageResponse toPage(List<OrderResponseDTO> items, boolean hasMore) {
+        String nextCursor = null;
+        if (hasMore && !items.isEmpty()) {
+            OrderResponseDTO last = items.get(items.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
         }
+        return new OrderPageResponse(items, nextCursor);
+    }
 
-        Order updatedOrder = orderRepository.save(order);
+    // Keeps the order of the given ids
+    private List<Order> findAllWithItems(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
 
-        // ADDED - Automatically create delivery when order is ready for pickup
-        if (dto.getStatus() == OrderStatus.READY_FOR_PICKUP) {
-            try {
-                autoCreateDelivery(updatedOrder);
-            } catch (Exception e) {
-                System.err.println("Failed to auto-create delivery: " + e.getMessage());
-                // Don't fail the status update if delivery creation fails
-            }
+        Map<Long, Order> ordersById = new HashMap<>();
+        for (Order order : orderRepository.findAllWithItemsByIdIn(orderIds)) {
+            ordersById.put(order.getId(), order);
         }
 
-        try {
-            String restaurantName = getRestaurantName(order.getRestaurantId());
-
-            switch (dto.getStatus()) {
-                case CONFIRMED:
-                    eventPublisher.publishOrderConfirmed(new OrderConfirmedEvent(
-                            orderId,
-                            order.getCustomerId(),
-                            restaurantName
-                    ));
-                    break;
-
-                case READY_FOR_PICKUP:
-                    eventPublisher.publishOrderReady(new OrderReadyEvent(
-                            orderId,
-                            order.getCustomerId(),
-                            restaurantName
-                    ));
-                    break;
-
-                default:
-                    // No notification for other statuses
-                    break;
+        return orderIds.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public OrderResponseDTO updateOrderStatus(Long orderId, UpdateOrderStatusDTO dto) {
+        return optimisticRetry.inTransaction(() -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+
+            // Validate status transition
+            validateStatusTransition(order.getStatus(), dto.getStatus());
+            OrderStatus previousStatus = order.getStatus();
+            applyStatus(order, dto.getStatus());
+            // Built before saving; a failing outbox write fails the status change with it
+            Object event = statusChangedEvent(order);
+
+            Order updatedOrder = orderRepository.save(order);
+            eventPublisher.publishOrderStatusChanged(statusSnapshot(updatedOrder, previousStatus));
+            if (event != null) {
+                eventPublisher.publishAll(List.of(event));
             }
-        } catch (Exception e) {
-            // Log but don't fail the status update if event publishing fails
-            System.err.println("Failed to publish order status event: " + e.getMessage());
-        }
 
-        return convertToResponseDTO(updatedOrder);
+            return convertToResponseDTO(updatedOrder);
+        });
     }
 
-    private void autoCreateDelivery(Order order) {
-        try {
-            // Fetch restaurant address for delivery tracking
-            String restaurantAddress = fetchRestaurantAddress(order.getRestaurantId());
-
-            // Fetch customer's delivery address
-            String deliveryAddress = fetchDeliveryAddress(order.getCustomerId(), order.getDeliveryAddressId());
-
-            // Build the delivery creation request
-            Map<String, Object> deliveryRequest = new HashMap<>();
-            deliveryRequest.put("orderId", order.getId());
-            deliveryRequest.put("customerId", order.getCustomerId());
-            deliveryRequest.put("restaurantId", order.getRestaurantId());
-            deliveryRequest.put("deliveryAddressId", order.getDeliveryAddressId());
-            deliveryRequest.put("restaurantAddress", restaurantAddress);
-            deliveryRequest.put("deliveryAddress", deliveryAddress);
-            deliveryRequest.put("estimatedDeliveryTime", order.getEstimatedDeliveryTime().toString());
-
-            // Add special instructions as delivery notes if present
-            if (order.getSpecialInstructions() != null && !order.getSpecialInstructions().isEmpty()) {
-                deliveryRequest.put("deliveryNotes", order.getSpecialInstructions());
+    /**
+     * Applies many status changes in one transaction. All orders are loaded with one
+     * query, changes are flushed as batched UPDATEs at commit and their events are
+     * queued together. A rejected change doesn't affect the others; if another request
+     * changed one of the orders meanwhile, the whole batch is re-evaluated.
+     */
+    public List<OrderStatusChangeResultDTO> bulkUpdateOrderStatus(BulkOrderStatusUpdateDTO dto,
+                                                                  Long userId, String userRole) {
+        return optimisticRetry.inTransaction(() -> {
+            List<Long> orderIds = dto.getUpdates().stream()
+                    .map(OrderStatusChangeDTO::getOrderId)
+                    .distinct()
+                    .collect(Collectors.toList());
+
+            Map<Long, Order> ordersById = new HashMap<>();
+            for (Order order : orderRepository.findAllById(orderIds)) {
+                ordersById.put(order.getId(), order);
             }
 
-            Map<String, Object> response = deliveryServiceClient.createDelivery(
-                    deliveryRequest,
-                    "true"
-            );
+            List<OrderStatusChangeResultDTO> results = new ArrayList<>();
+            List<Object> events = new ArrayList<>();
+
+            for (OrderStatusChangeDTO change : dto.getUpdates()) {
+                Order order = ordersById.get(change.getOrderId());
+                if (order == null) {
+                    results.add(new OrderStatusChangeResultDTO(
+                            change.getOrderId(), false, null, "Order not found with id: " + change.getOrderId()));
+                    continue;
+                }
+
+                if (!"ADMIN".equals(userRole) && !isRestaurantOwner(order.getRestaurantId(), order.getRestaurantOwnerId(), userId)) {
+                    results.add(new OrderStatusChangeResultDTO(
+                            order.getId(), false, order.getStatus(), "You are not authorized to update this order"));
+                    continue;
+                }
+
+                try {
+                    validateStatusTransition(order.getStatus(), change.getStatus());
+                } catch (BadRequestException e) {
+                    results.add(new OrderStatusChangeResultDTO(order.getId(), false, order.getStatus(), e.getMessage()));
+                    continue;
+                }
+
+                OrderStatus previousStatus = order.getStatus();
+                applyStatus(order, change.getStatus());
+                results.add(new OrderStatusChangeResultDTO(order.getId(), true, order.getStatus(), null));
+                events.add(statusSnapshot(order, previousStatus));
+
+                Object event = statusChangedEvent(order);
+                if (event != null) {
+                    events.add(event);
+                }
+            }
 
-            System.out.println("Auto-created delivery for order: " + order.getId() +
-                    " | Delivery ID: " + response.get("id"));
-        } catch (Exception e) {
-            System.err.println("Failed to auto-create delivery for order " + order.getId() + ": " + e.getMessage());
-        }
+            // Managed orders are flushed on commit, batched by hibernate.jdbc.batch_size
+            if (!events.isEmpty()) {
+                eventPublisher.publishAll(events);
+            }
+
+            return results;
+        });
     }
 
-    private String fetchRestaurantAddress(Long restaurantId) {
-        try {
-            Map<String, Object> restaurant = restaurantServiceClient.getRestaurant(restaurantId);
+    private void applyStatus(Order order, OrderStatus newStatus) {
+        order.setStatus(newStatus);
 
-            StringBuilder address = new StringBuilder();
+        // If delivered, set actual delivery time
+        if (newStatus == OrderStatus.DELIVERED) {
+            order.setActualDeliveryTime(LocalDateTime.now());
+        }
+    }
 
-            if (restaurant.get("address") != null) {
-                address.append(restaurant.get("address"));
-            }
+    private OrderStatusChangedEvent statusSnapshot(Order order, OrderStatus previousStatus) {
+        return new OrderStatusChangedEvent(
+                order.getId(),
+                order.getRestaurantId(),
+                previousStatus,
+                order.getStatus(),
+                order.getPaymentStatus(),
+                order.getTotal(),
+                order.getEstimatedDeliveryTime(),
+                order.getActualDeliveryTime(),
+                LocalDateTime.now()
+        );
+    }
 
-            if (restaurant.get("district") != null) {
-                if (address.length() > 0) address.append(", ");
-                address.append(restaurant.get("district"));
-            }
+    // Event to publish for the order's new status, null when nobody is notified
+    private Object statusChangedEvent(Order order) {
+        switch (order.getStatus()) {
+            case CONFIRMED:
+                return new OrderConfirmedEvent(
+                        order.getId(),
+                        order.getCustomerId(),
+                        getRestaurantName(order)
+                );
 
-            if (restaurant.get("city") != null) {
-                if (address.length() > 0) address.append(", ");
-                address.append(restaurant.get("city"));
-            }
+            case READY_FOR_PICKUP:
+                // delivery-service creates the delivery from this event,
+                // so it carries everything needed without calling back
+                return new OrderReadyEvent(
+                        order.getId(),
+                        order.getCustomerId(),
+                        getRestaurantName(order),
+                        order.getRestaurantId(),
+                        order.getDeliveryAddressId(),
+                        fetchRestaurantAddress(order.getRestaurantId()),
+                        deliveryAddressOf(order),
+                        order.getEstimatedDeliveryTime(),
+                        order.getSpecialInstructions()
+                );
 
-            return address.length() > 0 ? address.toString() : "Restaurant Address Not Available";
+            default:
+                // No notification for other statuses
+                return null;
+        }
+    }
 
+    // Null when unknown, delivery-service then resolves it itself
+    private String fetchRestaurantAddress(Long restaurantId) {
+        try {
+            return restaurantDirectory.get(restaurantId).getAddress();
         } catch (Exception e) {
-            return "Restaurant Address Not Available";
+            return null;
         }
     }
 
-    private String fetchDeliveryAddress(Long customerId, Long addressId) {
+    // Unknown parts are null; delivery-service then resolves the address itself
+    // The snapshot taken at creation; looked up again if auth-service didn't answer then.
+    // delivery-service takes the address from the ready event, so it is formatted only here
+    private String deliveryAddressOf(Order order) {
+        return order.getDeliveryAddress() != null
+                ? order.getDeliveryAddress()
+                : fetchDeliveryAddress(order.getCustomerId(), order.getDeliveryAddressId()).getAddress();
+    }
+
+    private DeliveryAddressInfo fetchDeliveryAddress(Long customerId, Long addressId) {
         try {
             // Call User Service to get the specific address
             Object addressResponse = userServiceClient.getAddressById(
@@ -368,77 +599,121 @@ public class OrderService {
                 address.append(", Apt: ").append(addressMap.get("apartment"));
             }
 
-            return address.length() > 0 ? address.toString() : "Delivery Address Not Available";
+            return new DeliveryAddressInfo(
+                    address.length() > 0 ? address.toString() : null,
+                    GeoPoint.of(addressMap.get("latitude"), addressMap.get("longitude"))
+            );
 
         } catch (Exception e) {
-            return "Delivery Address Not Available";
+            return new DeliveryAddressInfo(null, null);
         }
     }
 
-    @Transactional
     public OrderResponseDTO updatePaymentStatus(Long orderId, UpdatePaymentStatusDTO dto) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        return optimisticRetry.inTransaction(() -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
-        order.setPaymentStatus(dto.getPaymentStatus());
+            order.setPaymentStatus(dto.getPaymentStatus());
 
-        Order updatedOrder = orderRepository.save(order);
-        return convertToResponseDTO(updatedOrder);
+            Order updatedOrder = orderRepository.save(order);
+            eventPublisher.publishOrderStatusChanged(statusSnapshot(updatedOrder, updatedOrder.getStatus()));
+            return convertToResponseDTO(updatedOrder);
+        });
     }
 
-    @Transactional
     public OrderResponseDTO cancelOrder(Long orderId, Long userId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        return optimisticRetry.inTransaction(() -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
-        // Controller already validated authorization
-        // Only verify order can be cancelled
-        if (!order.getCustomerId().equals(userId)) {
-            throw new ForbiddenOperationException(
-                    "You can only cancel your own order"
-            );
-        }
+            // Controller already validated authorization
+            // Only verify order can be cancelled
+            if (!order.getCustomerId().equals(userId)) {
+                throw new ForbiddenOperationException(
+                        "You can only cancel your own order"
+                );
+            }
 
-        // Can only cancel if not already delivered or cancelled
-        if (order.getStatus() == OrderStatus.DELIVERED) {
-            throw new BadRequestException("Cannot cancel a delivered order");
-        }
-        if (order.getStatus() == OrderStatus.CANCELLED) {
-            throw new BadRequestException("Order is already cancelled");
-        }
+            // Can only cancel if not already delivered or cancelled
+            if (order.getStatus() == OrderStatus.DELIVERED) {
+                throw new BadRequestException("Cannot cancel a delivered order");
+            }
+            if (order.getStatus() == OrderStatus.CANCELLED) {
+                throw new BadRequestException("Order is already cancelled");
+            }
 
-        order.setStatus(OrderStatus.CANCELLED);
+            // Resolved before saving, so the cancellation and its event commit together
+            Long restaurantOwnerId = getRestaurantOwnerId(order);
 
-        // If payment was made, set to refunded
-        if (order.getPaymentStatus() == PaymentStatus.PAID) {
-            order.setPaymentStatus(PaymentStatus.REFUNDED);
-        }
+            OrderStatus previousStatus = order.getStatus();
+            order.setStatus(OrderStatus.CANCELLED);
 
-        Order updatedOrder = orderRepository.save(order);
-        // ADDED - Publish ORDER_CANCELLED event
-        try {
-            Long restaurantOwnerId = getRestaurantOwnerId(order.getRestaurantId());
+            // If payment was made, set to refunded
+            if (order.getPaymentStatus() == PaymentStatus.PAID) {
+                order.setPaymentStatus(PaymentStatus.REFUNDED);
+            }
+
+            Order updatedOrder = orderRepository.save(order);
+            eventPublisher.publishOrderStatusChanged(statusSnapshot(updatedOrder, previousStatus));
             eventPublisher.publishOrderCancelled(new OrderCancelledEvent(
                     orderId,
                     userId,
                     restaurantOwnerId,
                     "Cancelled by customer"
             ));
-        } catch (Exception e) {
-            // Log but don't fail the cancellation if event publishing fails
-            System.err.println("Failed to publish ORDER_CANCELLED event: " + e.getMessage());
-        }
 
-        return convertToResponseDTO(updatedOrder);
+            return convertToResponseDTO(updatedOrder);
+        });
     }
 
-    @Transactional
     public void markOrderAsPaid(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        optimisticRetry.inTransaction(() -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+
+            order.setPaymentStatus(PaymentStatus.PAID);
+            orderRepository.save(order);
+            eventPublisher.publishOrderStatusChanged(statusSnapshot(order, order.getStatus()));
+            return null;
+        });
+    }
 
-        order.setPaymentStatus(PaymentStatus.PAID);
-        orderRepository.save(order);
+    // Waits for all checks under one deadline, failing as soon as any of them fails.
+    // Checks that haven't started yet are cancelled; running remote calls are left to finish.
+    private void awaitAll(CompletableFuture<?>... checks) {
+        CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> check : checks) {
+            check.whenComplete((result, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
+        }
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(checks), firstFailure)
+                    .get(validationTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Slow dependencies, not a bad order: 503, so callers retry
+            throw new ServiceUnavailableException("Unable to validate the order in time. Please try again.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Order validation was interrupted. Please try again.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Order validation failed", cause);
+        } finally {
+            for (CompletableFuture<?> check : checks) {
+                check.cancel(false);
+            }
+        }
     }
 
     private void validateCustomerExists(Long customerId) {
@@ -450,9 +725,9 @@ public class OrderService {
         }
     }
 
-    private void validateRestaurantExists(Long restaurantId) {
+    private RestaurantInfo loadRestaurant(Long restaurantId) {
         try {
-            restaurantServiceClient.getRestaurant(restaurantId);
+            return restaurantDirectory.get(restaurantId);
         } catch (Exception e) {
             throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
         }
@@ -480,60 +755,79 @@ public class OrderService {
         }
     }
 
+    // Uses the owner captured on the order; only orders placed before the snapshot existed go remote
+    private boolean isRestaurantOwner(Long restaurantId, Long restaurantOwnerId, Long userId) {
+        if (restaurantOwnerId != null) {
+            return restaurantOwnerId.equals(userId);
+        }
+        return verifyRestaurantOwnership(restaurantId, userId);
+    }
+
     public boolean verifyRestaurantOwnership(Long restaurantId, Long userId) {
         try {
-            // Call Restaurant Service to verify ownership
-            Map<String, Object> restaurant = restaurantServiceClient.getRestaurant(restaurantId);
-
-            // Extract ownerId from the restaurant response
-            Object ownerIdObj = restaurant.get("ownerId");
-            Long ownerId;
-
-            if (ownerIdObj instanceof Integer) {
-                ownerId = ((Integer) ownerIdObj).longValue();
-            } else if (ownerIdObj instanceof Long) {
-                ownerId = (Long) ownerIdObj;
-            } else {
-                return false;
-            }
-
-            return ownerId.equals(userId);
+            Long ownerId = restaurantDirectory.get(restaurantId).getOwnerId();
+            return ownerId != null && ownerId.equals(userId);
         } catch (Exception e) {
-            // Log the error
             // Fail closed - deny access on error
             return false;
         }
     }
 
-    private void validateMenuItems(Long restaurantId, List<OrderItemDTO> items) {
-        for (OrderItemDTO item : items) {
-            try {
-                restaurantServiceClient.getMenuItem(restaurantId, item.getMenuItemId());
-            } catch (Exception e) {
+    private Map<Long, Map<String, Object>> fetchMenuItems(Long restaurantId, List<OrderItemDTO> items) {
+        List<Long> menuItemIds = items.stream()
+                .map(OrderItemDTO::getMenuItemId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        List<Map<String, Object>> response;
+        try {
+            response = restaurantServiceClient.getMenuItems(restaurantId, menuItemIds);
+        } catch (Exception e) {
+            throw new BadRequestException(
+                    "Unable to load menu items for restaurant " + restaurantId + ". Please try again."
+            );
+        }
+
+        Map<Long, Map<String, Object>> menuItems = new HashMap<>();
+        for (Map<String, Object> menuItem : response) {
+            Object idObj = menuItem.get("id");
+            if (idObj instanceof Number) {
+                menuItems.put(((Number) idObj).longValue(), menuItem);
+            }
+        }
+
+        // Every requested item must belong to this restaurant
+        for (Long menuItemId : menuItemIds) {
+            if (!menuItems.containsKey(menuItemId)) {
                 throw new BadRequestException(
-                        "Menu item with id " + item.getMenuItemId() +
+                        "Menu item with id " + menuItemId +
                                 " not found in restaurant " + restaurantId
                 );
             }
         }
+
+        return menuItems;
+    }
+    // Snapshot first, restaurant-service only for orders not yet backfilled
+    private String getRestaurantName(Order order) {
+        if (order.getRestaurantName() != null) {
+            return order.getRestaurantName();
+        }
+        return getRestaurantName(order.getRestaurantId());
     }
 
-    private Map<String, Object> fetchMenuItem(Long restaurantId, Long menuItemId) {
-        try {
-            return restaurantServiceClient.getMenuItem(restaurantId, menuItemId);
-        } catch (Exception e) {
-            throw new BadRequestException(
-                    "Menu item with id " + menuItemId +
-                            " not found in restaurant " + restaurantId
-            );
+    private Long getRestaurantOwnerId(Order order) {
+        if (order.getRestaurantOwnerId() != null) {
+            return order.getRestaurantOwnerId();
         }
+        return getRestaurantOwnerId(order.getRestaurantId());
     }
+
     // ADDED - Helper method to get restaurant name
     private String getRestaurantName(Long restaurantId) {
         try {
-            Map<String, Object> restaurant = restaurantServiceClient.getRestaurant(restaurantId);
-            Object nameObj = restaurant.get("name");
-            return nameObj != null ? nameObj.toString() : "Restaurant";
+            String name = restaurantDirectory.get(restaurantId).getName();
+            return name != null ? name : "Restaurant";
         } catch (Exception e) {
             return "Restaurant"; // Fallback if we can't get the name
         }
@@ -541,13 +835,9 @@ public class OrderService {
     //ADDED - Helper method to get restaurant owner id
     private Long getRestaurantOwnerId(Long restaurantId) {
         try {
-            Map<String, Object> restaurant = restaurantServiceClient.getRestaurant(restaurantId);
-            Object ownerIdObj = restaurant.get("ownerId");
-
-            if (ownerIdObj instanceof Integer) {
-                return ((Integer) ownerIdObj).longValue();
-            } else if (ownerIdObj instanceof Long) {
-                return (Long) ownerIdObj;
+            Long ownerId = restaurantDirectory.get(restaurantId).getOwnerId();
+            if (ownerId != null) {
+                return ownerId;
             }
             throw new RuntimeException("Could not get owner ID for restaurant " + restaurantId);
         } catch (Exception e) {
@@ -575,56 +865,41 @@ public class OrderService {
 
         dto.setItems(orderItems);
 
+        // Cart-service already checked availability and prices moments ago
+        Map<Long, Map<String, Object>> knownMenuItems = null;
+        if (cartPriceTokens.isFresh(cartDto)) {
+            knownMenuItems = new HashMap<>();
+            for (CartItemForOrderDTO cartItem : cartDto.getItems()) {
+                Map<String, Object> menuItem = new HashMap<>();
+                menuItem.put("id", cartItem.getMenuItemId());
+                menuItem.put("name", cartItem.getItemName());
+                menuItem.put("price", cartItem.getPrice());
+                menuItem.put("isAvailable", true);
+                knownMenuItems.put(cartItem.getMenuItemId(), menuItem);
+            }
+        }
+
         // Reuse existing createOrder logic
-        return createOrder(dto, cartDto.getCustomerId());
+        return createOrder(dto, cartDto.getCustomerId(), knownMenuItems);
     }
 
 
 
-    private BigDecimal calculateDeliveryFee(Long restaurantId, Long deliveryAddressId) {
-        // Base fee for Egyptian market: 15 EGP
-        BigDecimal baseFee = new BigDecimal("15.00");
-
-        // TODO: Future enhancements:
-        // - Calculate actual distance
-        // - Add peak hour surcharges
-        // - Apply demand-based pricing
-        // - Check promotional discounts
-
-        return baseFee;
-    }
-
-    private BigDecimal calculateTax(Order order) {
-        // Egypt VAT: 14%
-        BigDecimal taxRate = new BigDecimal("0.14");
-        BigDecimal subtotal = order.getSubtotal();
-        BigDecimal tax = subtotal.multiply(taxRate);
-
-        return tax.setScale(2, BigDecimal.ROUND_HALF_UP);
+    private Money calculateTax(Money subtotal) {
+        // Egypt VAT: 14%, rounded half-up to the piastre
+        return subtotal.percentage(VAT_PERCENT);
     }
 
-    private BigDecimal calculateSubtotal(Order order) {
-        return order.getItems().stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Money calculateSubtotal(Order order) {
+        Money subtotal = Money.ZERO;
+        for (OrderItem item : order.getItems()) {
+            subtotal = subtotal.plus(Money.of(item.getPrice()).times(item.getQuantity()));
+        }
+        return subtotal;
     }
 
     private void validateStatusTransition(OrderStatus currentStatus, OrderStatus newStatus) {
-        // Define valid transitions
-        boolean isValid = switch (currentStatus) {
-            case PENDING -> newStatus == OrderStatus.CONFIRMED ||
-                    newStatus == OrderStatus.REJECTED ||
-                    newStatus == OrderStatus.CANCELLED;
-            case CONFIRMED -> newStatus == OrderStatus.PREPARING ||
-                    newStatus == OrderStatus.CANCELLED;
-            case PREPARING -> newStatus == OrderStatus.READY_FOR_PICKUP ||
-                    newStatus == OrderStatus.CANCELLED;
-            case READY_FOR_PICKUP -> newStatus == OrderStatus.PICKED_UP ||
-                    newStatus == OrderStatus.CANCELLED;
-            case PICKED_UP -> newStatus == OrderStatus.DELIVERED ||
-                    newStatus == OrderStatus.CANCELLED;
-            case DELIVERED, CANCELLED, REJECTED -> false; // Terminal states
-        };
+        boolean isValid = OrderStatusTransitions.isAllowed(currentStatus, newStatus);
 
         if (!isValid) {
             throw new BadRequestException(
@@ -638,7 +913,8 @@ public class OrderService {
         dto.setId(order.getId());
         dto.setCustomerId(order.getCustomerId());
         dto.setRestaurantId(order.getRestaurantId());
-        dto.setRestaurantName(getRestaurantName(order.getRestaurantId()));
+        // Served from the order row only; rows awaiting backfill get the generic name
+        dto.setRestaurantName(order.getRestaurantName() != null ? order.getRestaurantName() : "Restaurant");
         dto.setDeliveryAddressId(order.getDeliveryAddressId());
         dto.setSubtotal(order.getSubtotal());
         dto.setDeliveryFee(order.getDeliveryFee());
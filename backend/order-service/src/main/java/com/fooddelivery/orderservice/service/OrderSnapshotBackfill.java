@@ -0,0 +1,56 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.RestaurantInfo;
+import com.fooddelivery.orderservice.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills in the restaurant snapshot (name, owner) on orders created before it was
+ * stored on the order row.
+ *
+ * Works one restaurant at a time with a single UPDATE per restaurant, so the number
+ * of restaurant-service calls is bounded by the number of restaurants, not orders.
+ * Restaurants that can't be loaded are skipped and retried on the next run; once
+ * every row is filled in a run is a single empty query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSnapshotBackfill {
+
+    private final OrderRepository orderRepository;
+    private final RestaurantDirectory restaurantDirectory;
+
+    @Scheduled(initialDelayString = "${order.snapshot-backfill.initial-delay-ms:60000}",
+            fixedDelayString = "${order.snapshot-backfill.interval-ms:3600000}")
+    public void backfill() {
+        List<Long> restaurantIds = orderRepository.findRestaurantIdsMissingSnapshot();
+        if (restaurantIds.isEmpty()) {
+            return;
+        }
+
+        int updated = 0;
+        int skipped = 0;
+        for (Long restaurantId : restaurantIds) {
+            RestaurantInfo restaurant;
+            try {
+                restaurant = restaurantDirectory.get(restaurantId);
+            } catch (Exception e) {
+                log.warn("Skipping order snapshot backfill for restaurant {}: {}", restaurantId, e.getMessage());
+                skipped++;
+                continue;
+            }
+
+            // Same fallback the read path used before the snapshot existed
+            String name = restaurant.getName() != null ? restaurant.getName() : "Restaurant";
+            updated += orderRepository.backfillRestaurantSnapshot(restaurantId, name, restaurant.getOwnerId());
+        }
+
+        log.info("Backfilled restaurant snapshot on {} orders ({} restaurants skipped)", updated, skipped);
+    }
+}
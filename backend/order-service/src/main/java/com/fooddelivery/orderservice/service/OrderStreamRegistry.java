@@ -0,0 +1,122 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.event.OrderStatusChangedEvent;
+import com.fooddelivery.orderservice.model.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SSE subscribers of this instance, by order id.
+ *
+ * Updates arrive from RabbitMQ (see OrderStatusStreamListener), so a client gets
+ * every change regardless of which instance committed it. Streams are closed once
+ * the order reaches a terminal status, on timeout, or when a write fails; a
+ * periodic heartbeat keeps idle connections open through proxies and detects
+ * clients that went away.
+ */
+@Component
+@Slf4j
+public class OrderStreamRegistry {
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${order.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public OrderStreamRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("order.stream.subscribers", this, OrderStreamRegistry::subscriberCount)
+                .register(meterRegistry);
+    }
+
+    // Sends the current state right away, then every change until the order is finished
+    public SseEmitter subscribe(Long orderId, OrderStatusChangedEvent current) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(() -> unsubscribe(orderId, emitter));
+        emitter.onError(e -> unsubscribe(orderId, emitter));
+
+        if (isTerminal(current.getStatus())) {
+            send(orderId, emitter, current);
+            emitter.complete();
+            return emitter;
+        }
+
+        subscribers.compute(orderId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        send(orderId, emitter, current);
+        return emitter;
+    }
+
+    public void publish(OrderStatusChangedEvent event) {
+        Set<SseEmitter> emitters = subscribers.get(event.getOrderId());
+        if (emitters == null) {
+            return;
+        }
+
+        boolean terminal = isTerminal(event.getStatus());
+        for (SseEmitter emitter : emitters) {
+            if (send(event.getOrderId(), emitter, event) && terminal) {
+                emitter.complete();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${order.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        subscribers.forEach((orderId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    drop(orderId, emitter, e);
+                }
+            }
+        });
+    }
+
+    private int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private boolean send(Long orderId, SseEmitter emitter, OrderStatusChangedEvent event) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(event));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            drop(orderId, emitter, e);
+            return false;
+        }
+    }
+
+    private void drop(Long orderId, SseEmitter emitter, Exception e) {
+        log.debug("Dropping order {} stream: {}", orderId, e.getMessage());
+        unsubscribe(orderId, emitter);
+        emitter.completeWithError(e);
+    }
+
+    private void unsubscribe(Long orderId, SseEmitter emitter) {
+        subscribers.computeIfPresent(orderId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private boolean isTerminal(OrderStatus status) {
+        return status == OrderStatus.DELIVERED
+                || status == OrderStatus.CANCELLED
+                || status == OrderStatus.REJECTED;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.RestaurantDashboardDTO;
+import com.fooddelivery.orderservice.event.OrderStatusChangedEvent;
+import com.fooddelivery.orderservice.model.Money;
+import com.fooddelivery.orderservice.model.OrderStatus;
+import com.fooddelivery.orderservice.repository.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-restaurant order counts by status and today's delivered revenue, kept in memory.
+ *
+ * A restaurant's counters are loaded with two GROUP BY queries the first time its
+ * dashboard is requested. After that every OrderStatusChangedEvent (which every
+ * instance receives) moves one order between statuses, so a dashboard read costs
+ * O(1). Counters for all loaded restaurants are periodically recomputed from the
+ * database, which corrects duplicate or missed events and orders removed by
+ * OrderArchive. Restaurants nobody looked at for a while are dropped.
+ */
+@Component
+@Slf4j
+public class RestaurantDashboards {
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final Cache<Long, Counters> counters;
+
+    public RestaurantDashboards(
+            OrderRepository orderRepository,
+            MeterRegistry meterRegistry,
+            @Value("${order.dashboard.idle-minutes:60}") long idleMinutes,
+            @Value("${order.dashboard.max-size:10000}") long maxSize) {
+        this.orderRepository = orderRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "restaurantDashboards");
+    }
+
+    public RestaurantDashboardDTO get(Long restaurantId) {
+        return counters.get(restaurantId, id -> load(List.of(id)).get(id)).snapshot(restaurantId);
+    }
+
+    public void apply(OrderStatusChangedEvent event) {
+        if (event.getRestaurantId() == null) {
+            return; // Sent before the event carried the restaurant
+        }
+
+        // Not loaded yet: the first read will count this order from the database
+        Counters restaurantCounters = counters.getIfPresent(event.getRestaurantId());
+        if (restaurantCounters != null) {
+            restaurantCounters.apply(event);
+        }
+    }
+
+    // Events applied to the old counters while a chunk is being recomputed are lost;
+    // the database already has them, so they show up again after the swap
+    @Scheduled(fixedDelayString = "${order.dashboard.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<Long> restaurantIds = new ArrayList<>(counters.asMap().keySet());
+        for (int from = 0; from < restaurantIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = restaurantIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, restaurantIds.size()));
+            // replace() so restaurants evicted meanwhile aren't brought back
+            load(chunk).forEach((restaurantId, fresh) -> counters.asMap().replace(restaurantId, fresh));
+        }
+        log.debug("Reconciled dashboard counters of {} restaurants", restaurantIds.size());
+    }
+
+    private Map<Long, Counters> load(Collection<Long> restaurantIds) {
+        LocalDate today = LocalDate.now();
+        Map<Long, Counters> loaded = new HashMap<>();
+        for (Long restaurantId : restaurantIds) {
+            loaded.put(restaurantId, new Counters(today));
+        }
+
+        for (Object[] row : orderRepository.countByRestaurantAndStatus(restaurantIds)) {
+            loaded.get((Long) row[0]).counts[((OrderStatus) row[1]).ordinal()] = (Long) row[2];
+        }
+        for (Object[] row : orderRepository.sumTotalsByRestaurant(
+                restaurantIds, OrderStatus.DELIVERED, today.atStartOfDay())) {
+            loaded.get((Long) row[0]).revenue = Money.of((BigDecimal) row[1]).minorUnits();
+        }
+        return loaded;
+    }
+
+    private static final class Counters {
+
+        private final long[] counts = new long[OrderStatus.values().length];
+        private long revenue; // Piastres delivered on revenueDate
+        private LocalDate revenueDate;
+
+        Counters(LocalDate revenueDate) {
+            this.revenueDate = revenueDate;
+        }
+
+        synchronized void apply(OrderStatusChangedEvent event) {
+            OrderStatus previous = event.getPreviousStatus();
+            OrderStatus current = event.getStatus();
+            if (previous == current) {
+                return; // Payment-only change
+            }
+
+            if (previous != null && counts[previous.ordinal()] > 0) {
+                counts[previous.ordinal()]--;
+            }
+            counts[current.ordinal()]++;
+
+            if (current == OrderStatus.DELIVERED && event.getTotal() != null && event.getActualDeliveryTime() != null) {
+                rollOver(LocalDate.now());
+                if (event.getActualDeliveryTime().toLocalDate().equals(revenueDate)) {
+                    revenue += Money.of(event.getTotal()).minorUnits();
+                }
+            }
+        }
+
+        synchronized RestaurantDashboardDTO snapshot(Long restaurantId) {
+            rollOver(LocalDate.now());
+
+            Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : OrderStatus.values()) {
+                statusCounts.put(status, counts[status.ordinal()]);
+            }
+            return new RestaurantDashboardDTO(
+                    restaurantId, statusCounts, Money.ofMinor(revenue).toBigDecimal(), revenueDate);
+        }
+
+        // Revenue restarts from zero at midnight
+        private void rollOver(LocalDate today) {
+            if (!today.equals(revenueDate)) {
+                revenueDate = today;
+                revenue = 0;
+            }
+        }
+    }
+}
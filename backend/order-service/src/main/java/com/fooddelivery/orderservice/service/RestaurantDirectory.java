@@ -0,0 +1,94 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.GeoPoint;
+import com.fooddelivery.orderservice.dto.RestaurantInfo;
+import com.fooddelivery.orderservice.feign.RestaurantServiceClient;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Near-cache of restaurant metadata (name, owner, address, location) used by order-service.
+ *
+ * Entries expire after a fixed TTL and the cache is bounded in size. Concurrent
+ * misses for the same restaurant share a single restaurant-service call, and
+ * hit/miss counts are published as "cache.*" metrics under the name
+ * "restaurantDirectory". Failed lookups are never cached.
+ */
+@Component
+@Slf4j
+public class RestaurantDirectory {
+
+    private final RestaurantServiceClient restaurantServiceClient;
+    private final LoadingCache<Long, RestaurantInfo> cache;
+
+    public RestaurantDirectory(
+            RestaurantServiceClient restaurantServiceClient,
+            MeterRegistry meterRegistry,
+            @Value("${order.restaurant-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${order.restaurant-cache.max-size:10000}") long maxSize) {
+        this.restaurantServiceClient = restaurantServiceClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "restaurantDirectory");
+    }
+
+    /**
+     * Returns the cached restaurant, loading it on a miss.
+     * Propagates the restaurant-service error if the restaurant can't be loaded.
+     */
+    public RestaurantInfo get(Long restaurantId) {
+        return cache.get(restaurantId);
+    }
+
+    public void evict(Long restaurantId) {
+        cache.invalidate(restaurantId);
+    }
+
+    private RestaurantInfo load(Long restaurantId) {
+        log.debug("Loading restaurant {} from restaurant-service", restaurantId);
+        Map<String, Object> restaurant = restaurantServiceClient.getRestaurant(restaurantId);
+
+        Object nameObj = restaurant.get("name");
+        Object ownerIdObj = restaurant.get("ownerId");
+
+        return new RestaurantInfo(
+                restaurantId,
+                nameObj != null ? nameObj.toString() : null,
+                ownerIdObj instanceof Number ? ((Number) ownerIdObj).longValue() : null,
+                formatAddress(restaurant),
+                GeoPoint.of(restaurant.get("latitude"), restaurant.get("longitude"))
+        );
+    }
+
+    private String formatAddress(Map<String, Object> restaurant) {
+        StringBuilder address = new StringBuilder();
+
+        if (restaurant.get("address") != null) {
+            address.append(restaurant.get("address"));
+        }
+
+        if (restaurant.get("district") != null) {
+            if (address.length() > 0) address.append(", ");
+            address.append(restaurant.get("district"));
+        }
+
+        if (restaurant.get("city") != null) {
+            if (address.length() > 0) address.append(", ");
+            address.append(restaurant.get("city"));
+        }
+
+        return address.length() > 0 ? address.toString() : null;
+    }
+}
@@ -0,0 +1,194 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.GeoPoint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prices delivery as zone base fee + zone per-km fee * straight-line distance.
+ *
+ * The zone is the longest geohash prefix of the delivery location found in the
+ * zone table (order.delivery-fee.zones-location); the "*" row is used when no
+ * prefix matches or a location is missing. The table is parsed once into memory
+ * and swapped atomically when the file changes, so pricing never touches I/O.
+ * An invalid file is rejected at startup and ignored on reload.
+ */
+@Component
+@ConditionalOnProperty(name = "order.delivery-fee.engine", havingValue = "zone", matchIfMissing = true)
+@Slf4j
+public class ZoneDeliveryFeeCalculator implements DeliveryFeeCalculator {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final Resource zonesResource;
+    private volatile ZoneTable zones;
+    private volatile long loadedLastModified;
+
+    public ZoneDeliveryFeeCalculator(
+            ResourceLoader resourceLoader,
+            @Value("${order.delivery-fee.zones-location:classpath:delivery-zones.csv}") String zonesLocation) {
+        this.zonesResource = resourceLoader.getResource(zonesLocation);
+        this.loadedLastModified = lastModified();
+        this.zones = load();
+    }
+
+    @Override
+    public BigDecimal calculate(GeoPoint restaurant, GeoPoint deliveryAddress) {
+        // TODO: peak hour surcharges, demand-based pricing, promotional discounts
+        return zones.fee(restaurant, deliveryAddress);
+    }
+
+    @Scheduled(fixedDelayString = "${order.delivery-fee.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        long lastModified = lastModified();
+        if (lastModified == loadedLastModified) {
+            return;
+        }
+
+        try {
+            zones = load();
+            loadedLastModified = lastModified;
+        } catch (Exception e) {
+            log.warn("Keeping previous delivery zones, failed to reload {}: {}", zonesResource, e.getMessage());
+        }
+    }
+
+    private ZoneTable load() {
+        Map<String, ZoneFee> zonesByGeohash = new HashMap<>();
+        ZoneFee fallback = null;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(zonesResource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int comment = line.indexOf('#');
+                if (comment >= 0) {
+                    line = line.substring(0, comment);
+                }
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                String[] columns = line.split(",");
+                if (columns.length != 3) {
+                    throw new IllegalStateException("Line " + lineNumber + ": expected geohash,baseFee,perKmFee");
+                }
+
+                String geohash = columns[0].trim();
+                ZoneFee fee = new ZoneFee(parseFee(columns[1], lineNumber), parseFee(columns[2], lineNumber));
+                if ("*".equals(geohash)) {
+                    fallback = fee;
+                } else if (Geohash.isValid(geohash)) {
+                    zonesByGeohash.put(geohash, fee);
+                } else {
+                    throw new IllegalStateException("Line " + lineNumber + ": invalid geohash " + geohash);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read delivery zones from " + zonesResource, e);
+        }
+
+        if (fallback == null) {
+            throw new IllegalStateException("Delivery zones in " + zonesResource + " have no \"*\" fallback row");
+        }
+
+        log.info("Loaded {} delivery zones from {}", zonesByGeohash.size(), zonesResource);
+        return new ZoneTable(zonesByGeohash, fallback);
+    }
+
+    private BigDecimal parseFee(String value, int lineNumber) {
+        try {
+            BigDecimal fee = new BigDecimal(value.trim());
+            if (fee.signum() < 0) {
+                throw new IllegalStateException("Line " + lineNumber + ": fees can't be negative");
+            }
+            return fee;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Line " + lineNumber + ": invalid fee " + value.trim());
+        }
+    }
+
+    // 0 when unknown (e.g. inside a jar), which disables reloading
+    private long lastModified() {
+        try {
+            return zonesResource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    static double distanceKm(GeoPoint from, GeoPoint to) {
+        double dLat = Math.toRadians(to.getLatitude() - from.getLatitude());
+        double dLon = Math.toRadians(to.getLongitude() - from.getLongitude());
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(from.getLatitude())) * Math.cos(Math.toRadians(to.getLatitude()))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private static final class ZoneFee {
+        private final BigDecimal baseFee;
+        private final BigDecimal perKmFee;
+
+        private ZoneFee(BigDecimal baseFee, BigDecimal perKmFee) {
+            this.baseFee = baseFee;
+            this.perKmFee = perKmFee;
+        }
+
+        private BigDecimal fee(double distanceKm) {
+            return baseFee.add(perKmFee.multiply(BigDecimal.valueOf(distanceKm)))
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+    }
+
+    // Immutable snapshot of the zone file
+    private static final class ZoneTable {
+        private final Map<String, ZoneFee> zonesByGeohash;
+        private final ZoneFee fallback;
+        private final int precision;
+
+        private ZoneTable(Map<String, ZoneFee> zonesByGeohash, ZoneFee fallback) {
+            this.zonesByGeohash = zonesByGeohash;
+            this.fallback = fallback;
+            this.precision = zonesByGeohash.keySet().stream().mapToInt(String::length).max().orElse(0);
+        }
+
+        private BigDecimal fee(GeoPoint restaurant, GeoPoint deliveryAddress) {
+            if (restaurant == null || deliveryAddress == null) {
+                return fallback.baseFee.setScale(2, RoundingMode.HALF_UP);
+            }
+            return zoneOf(deliveryAddress).fee(distanceKm(restaurant, deliveryAddress));
+        }
+
+        private ZoneFee zoneOf(GeoPoint location) {
+            if (precision == 0) {
+                return fallback;
+            }
+            String geohash = Geohash.encode(location.getLatitude(), location.getLongitude(), precision);
+            for (int length = precision; length > 0; length--) {
+                ZoneFee zone = zonesByGeohash.get(geohash.substring(0, length));
+                if (zone != null) {
+                    return zone;
+                }
+            }
+            return fallback;
+        }
+    }
+}
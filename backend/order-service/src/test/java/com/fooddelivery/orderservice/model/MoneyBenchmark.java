@@ -0,0 +1,101 @@
+package com.fooddelivery.orderservice.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing one order (price parsing, subtotal, 14% VAT, total) with the old
+ * BigDecimal code path against Money. Not part of the test suite; run with
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.fooddelivery.orderservice.model.MoneyBenchmark
+ * The gc profiler is on, so the report includes gc.alloc.rate.norm (bytes per order).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.14");
+
+    private final List<Map<String, Object>> menuItems = new ArrayList<>();
+    private final int[] quantities = {2, 1, 3, 1, 4, 1, 2};
+    private final BigDecimal deliveryFee = new BigDecimal("15.00");
+    private final Money deliveryFeeMoney = Money.of(deliveryFee);
+
+    @Setup
+    public void setUp() {
+        Object[] prices = {85.5, 120, 42.75, 199.99, 12.5, 65, 33.25}; // as Jackson decodes them
+        for (Object price : prices) {
+            Map<String, Object> menuItem = new HashMap<>();
+            menuItem.put("price", price);
+            menuItems.add(menuItem);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        List<BigDecimal> prices = new ArrayList<>(menuItems.size());
+        for (Map<String, Object> menuItem : menuItems) {
+            Object priceObj = menuItem.get("price");
+            if (priceObj instanceof Double) {
+                prices.add(BigDecimal.valueOf((Double) priceObj));
+            } else if (priceObj instanceof Integer) {
+                prices.add(BigDecimal.valueOf((Integer) priceObj));
+            } else {
+                prices.add((BigDecimal) priceObj);
+            }
+        }
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < prices.size(); i++) {
+            subtotal = subtotal.add(prices.get(i).multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        BigDecimal tax = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        return subtotal.add(deliveryFee).add(tax);
+    }
+
+    @Benchmark
+    public long money() {
+        Money subtotal = Money.ZERO;
+        for (int i = 0; i < menuItems.size(); i++) {
+            subtotal = subtotal.plus(Money.fromJson(menuItems.get(i).get("price")).times(quantities[i]));
+        }
+        Money tax = subtotal.percentage(14);
+        return subtotal.plus(deliveryFeeMoney).plus(tax).minorUnits();
+    }
+
+    // What OrderService actually hands to the entity
+    @Benchmark
+    public BigDecimal moneyToBigDecimal() {
+        return Money.ofMinor(money()).toBigDecimal();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
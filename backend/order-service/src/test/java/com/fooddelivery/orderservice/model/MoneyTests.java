@@ -0,0 +1,88 @@
+package com.fooddelivery.orderservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTests {
+
+    @Test
+    void ofRoundsHalfUpToThePiastre() {
+        assertEquals(Money.ofMinor(101), Money.of(new BigDecimal("1.005")));
+        assertEquals(Money.ofMinor(100), Money.of(new BigDecimal("1.0049")));
+        assertEquals(Money.ofMinor(-101), Money.of(new BigDecimal("-1.005")));
+        assertEquals("12.30", Money.of(new BigDecimal("12.3")).toString());
+    }
+
+    @Test
+    void fromJsonReadsIntegerLongDoubleBigDecimalAndString() {
+        assertEquals(Money.ofMinor(4500), Money.fromJson(45));
+        assertEquals(Money.ofMinor(4500), Money.fromJson(45L));
+        assertEquals(Money.ofMinor(4599), Money.fromJson(45.99));
+        // 0.29 * 100 is 28.999999999999996 as a double
+        assertEquals(Money.ofMinor(29), Money.fromJson(0.29));
+        assertEquals(Money.ofMinor(-1050), Money.fromJson(-10.5));
+        assertEquals(Money.ofMinor(1999), Money.fromJson(new BigDecimal("19.99")));
+        assertEquals(Money.ofMinor(1999), Money.fromJson("19.99"));
+        assertEquals(Money.ofMinor(2000), Money.fromJson("19.995"));
+    }
+
+    @Test
+    void fromJsonRejectsWhatIsNotAnAmount() {
+        assertThrows(IllegalArgumentException.class, () -> Money.fromJson(null));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromJson(true));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromJson(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromJson(Double.POSITIVE_INFINITY));
+        assertThrows(NumberFormatException.class, () -> Money.fromJson("ten"));
+    }
+
+    @Test
+    void arithmeticHandlesNegativeAmounts() {
+        Money refund = Money.ofMinor(-1250);
+
+        assertEquals(Money.ofMinor(-250), refund.plus(Money.ofMinor(1000)));
+        assertEquals(Money.ofMinor(-3750), refund.times(3));
+        assertEquals(new BigDecimal("-12.50"), refund.toBigDecimal());
+        assertEquals(-1, refund.compareTo(Money.ZERO));
+    }
+
+    @Test
+    void percentageRoundsHalfUpAwayFromZero() {
+        // 14% of 0.25 is 0.035, of 0.75 is 0.105
+        assertEquals(Money.ofMinor(4), Money.ofMinor(25).percentage(14));
+        assertEquals(Money.ofMinor(11), Money.ofMinor(75).percentage(14));
+        assertEquals(Money.ofMinor(-4), Money.ofMinor(-25).percentage(14));
+        assertEquals(Money.ofMinor(3), Money.ofMinor(24).percentage(14));
+        assertEquals(Money.ZERO, Money.ofMinor(3).percentage(14));
+    }
+
+    @Test
+    void percentageMatchesBigDecimalHalfUp() {
+        for (long minor = -5000; minor <= 5000; minor++) {
+            for (int percent : new int[]{1, 5, 10, 14, 15, 33, 100}) {
+                BigDecimal expected = BigDecimal.valueOf(minor, 2)
+                        .multiply(BigDecimal.valueOf(percent))
+                        .divide(BigDecimal.valueOf(100))
+                        .setScale(2, RoundingMode.HALF_UP);
+                assertEquals(expected, Money.ofMinor(minor).percentage(percent).toBigDecimal(),
+                        minor + " piastres at " + percent + "%");
+            }
+        }
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+        assertThrows(ArithmeticException.class, () -> max.percentage(200));
+        assertThrows(ArithmeticException.class, () -> Money.fromJson(Long.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e20")));
+        assertThrows(ArithmeticException.class, () -> Money.fromJson("92233720368547758.08"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.fooddelivery.orderservice.repository;
+
+import com.fooddelivery.orderservice.dto.OrderCursor;
+import com.fooddelivery.orderservice.model.Order;
+import com.fooddelivery.orderservice.model.OrderItem;
+import com.fooddelivery.orderservice.model.OrderStatus;
+import com.fooddelivery.orderservice.model.PaymentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTests {
+
+    // Keeps the slice away from the Feign clients registered on the application class
+    @Configuration
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    static class JpaConfig {
+    }
+
+    private static final long RESTAURANT_ID = 7L;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void pageOfOrdersWithItemsCostsTwoQueriesRegardlessOfSize() {
+        assertEquals(2, queriesToReadPageWithItems(5));
+        assertEquals(2, queriesToReadPageWithItems(40));
+    }
+
+    private long queriesToReadPageWithItems(int orderCount) {
+        orderRepository.deleteAll();
+        for (int i = 0; i < orderCount; i++) {
+            orderRepository.save(newOrder(3));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Long> ids = orderRepository.findPageIdsByRestaurantId(
+                RESTAURANT_ID, OrderCursor.START.getCreatedAt(),
+                Long.MAX_VALUE, PageRequest.of(0, orderCount));
+        List<Order> orders = orderRepository.findAllWithItemsByIdIn(ids);
+
+        int itemCount = orders.stream().mapToInt(order -> order.getItems().size()).sum();
+        assertEquals(orderCount * 3, itemCount);
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Order newOrder(int itemCount) {
+        Order order = new Order();
+        order.setCustomerId(1L);
+        order.setRestaurantId(RESTAURANT_ID);
+        order.setDeliveryAddressId(1L);
+        order.setSubtotal(BigDecimal.TEN);
+        order.setDeliveryFee(BigDecimal.ONE);
+        order.setTax(BigDecimal.ONE);
+        order.setTotal(BigDecimal.TEN);
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.PENDING);
+
+        for (int i = 0; i < itemCount; i++) {
+            OrderItem item = new OrderItem();
+            item.setMenuItemId((long) i);
+            item.setItemName("Item " + i);
+            item.setQuantity(1);
+            item.setPrice(BigDecimal.ONE);
+            order.addItem(item);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,96 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservice.dto.CartItemForOrderDTO;
+import com.fooddelivery.orderservice.dto.CreateOrderFromCartDTO;
+import com.fooddelivery.orderservice.dto.OrderResponseDTO;
+import com.fooddelivery.orderservice.exception.BadRequestException;
+import com.fooddelivery.orderservice.model.IdempotencyRecord;
+import com.fooddelivery.orderservice.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderIdempotencyServiceTests {
+
+    private static final Long CUSTOMER_ID = 3L;
+    private static final String CART_KEY = "cart-42";
+
+    private final Map<String, IdempotencyRecord> table = new HashMap<>();
+    private final AtomicInteger ordersCreated = new AtomicInteger();
+    private OrderIdempotencyService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findByCustomerIdAndIdempotencyKey(anyLong(), anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(table.get(invocation.getArgument(0) + ":" + invocation.getArgument(1))));
+        when(repository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            table.put(record.getCustomerId() + ":" + record.getIdempotencyKey(), record);
+            return record;
+        });
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+        service = new OrderIdempotencyService(repository, new ObjectMapper().findAndRegisterModules(),
+                transactionTemplate, new SimpleMeterRegistry(), 24, 100);
+    }
+
+    // The retry after order-service committed but the response was lost: same cart key, freshly signed token
+    @Test
+    void checkoutRetriedWithNewPriceTokenReplaysTheOrder() {
+        OrderResponseDTO first = service.execute(CUSTOMER_ID, CART_KEY,
+                checkout("v1.1000.first", new BigDecimal("50.00")), this::createOrder);
+
+        OrderResponseDTO retried = service.execute(CUSTOMER_ID, CART_KEY,
+                checkout("v1.1090.second", new BigDecimal("55.00")), this::createOrder);
+
+        assertEquals(1, ordersCreated.get());
+        assertEquals(first.getId(), retried.getId());
+    }
+
+    @Test
+    void sameKeyForDifferentItemsIsRejected() {
+        service.execute(CUSTOMER_ID, CART_KEY, checkout("v1.1000.first", new BigDecimal("50.00")), this::createOrder);
+
+        CreateOrderFromCartDTO changed = checkout("v1.1000.first", new BigDecimal("50.00"));
+        changed.getItems().get(0).setQuantity(3);
+
+        assertThrows(BadRequestException.class,
+                () -> service.execute(CUSTOMER_ID, CART_KEY, changed, this::createOrder));
+        assertEquals(1, ordersCreated.get());
+    }
+
+    private CreateOrderFromCartDTO checkout(String priceToken, BigDecimal price) {
+        return new CreateOrderFromCartDTO(CUSTOMER_ID, 7L, 11L,
+                List.of(new CartItemForOrderDTO(100L, 2, "no onions", "Koshari", price)),
+                "Ring twice", priceToken);
+    }
+
+    private OrderResponseDTO createOrder() {
+        OrderResponseDTO order = new OrderResponseDTO();
+        order.setId(1000L + ordersCreated.incrementAndGet());
+        return order;
+    }
+}
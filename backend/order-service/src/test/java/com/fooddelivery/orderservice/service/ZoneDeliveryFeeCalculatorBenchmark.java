@@ -0,0 +1,72 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.GeoPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order cost of zone pricing against the bundled delivery-zones.csv.
+ * Not part of the test suite; run with
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.fooddelivery.orderservice.service.ZoneDeliveryFeeCalculatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneDeliveryFeeCalculatorBenchmark {
+
+    private ZoneDeliveryFeeCalculator calculator;
+
+    private final GeoPoint restaurant = new GeoPoint(30.0444, 31.2357); // Downtown Cairo
+    private final GeoPoint zonedAddress = new GeoPoint(30.0561, 31.3300); // Nasr City
+    private final GeoPoint unzonedAddress = new GeoPoint(27.1783, 31.1859); // Assiut, "*" zone
+
+    @Setup
+    public void setUp() {
+        calculator = new ZoneDeliveryFeeCalculator(new DefaultResourceLoader(), "classpath:delivery-zones.csv");
+    }
+
+    @Benchmark
+    public BigDecimal zonedAddress() {
+        return calculator.calculate(restaurant, zonedAddress);
+    }
+
+    @Benchmark
+    public BigDecimal fallbackZone() {
+        return calculator.calculate(restaurant, unzonedAddress);
+    }
+
+    @Benchmark
+    public BigDecimal missingCoordinates() {
+        return calculator.calculate(restaurant, null);
+    }
+
+    @Benchmark
+    public String geohash() {
+        return Geohash.encode(zonedAddress.getLatitude(), zonedAddress.getLongitude(), 4);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ZoneDeliveryFeeCalculatorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
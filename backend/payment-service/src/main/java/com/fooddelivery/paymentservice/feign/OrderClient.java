@@ -10,13 +10,10 @@ public interface OrderClient {
 
     /**
      * Fetch order summary (SOURCE OF TRUTH).
+     * Internal projection endpoint: no items, no restaurant lookup.
      */
-    @GetMapping("/orders/{orderId}")
-    OrderSummaryResponse getOrderById(
-            @PathVariable Long orderId,
-            @RequestHeader("X-User-Id") Long userId,
-            @RequestHeader("X-User-Role") String role
-    );
+    @GetMapping("/orders/{orderId}/summary")
+    OrderSummaryResponse getOrderSummary(@PathVariable Long orderId);
 
     /**
      * Mark order as paid AFTER payment confirmation.
@@ -29,32 +26,33 @@ public interface OrderClient {
     );
 
     /**
-     * Minimal DTO — aligned with OrderResponseDTO.
+     * Minimal DTO — aligned with order-service's OrderSummaryResponse.
      */
     class OrderSummaryResponse {
 
-        private Long id;
-        private Long customerId;
+        private Long orderId;
+        private Long userId; // Customer who placed the order
         private Long restaurantId;
         private BigDecimal total;
         private String status;
+        private String paymentStatus;
 
         public OrderSummaryResponse() {}
 
-        public Long getId() {
-            return id;
+        public Long getOrderId() {
+            return orderId;
         }
 
-        public void setId(Long id) {
-            this.id = id;
+        public void setOrderId(Long orderId) {
+            this.orderId = orderId;
         }
 
-        public Long getCustomerId() {
-            return customerId;
+        public Long getUserId() {
+            return userId;
         }
 
-        public void setCustomerId(Long customerId) {
-            this.customerId = customerId;
+        public void setUserId(Long userId) {
+            this.userId = userId;
         }
 
         public Long getRestaurantId() {
@@ -65,7 +63,7 @@ public interface OrderClient {
             this.restaurantId = restaurantId;
         }
 
-        public BigDecimal getTotalAmount() {
+        public BigDecimal getTotal() {
             return total;
         }
 
@@ -80,5 +78,13 @@ public interface OrderClient {
         public void setStatus(String status) {
             this.status = status;
         }
+
+        public String getPaymentStatus() {
+            return paymentStatus;
+        }
+
+        public void setPaymentStatus(String paymentStatus) {
+            this.paymentStatus = paymentStatus;
+        }
     }
 }
@@ -66,10 +66,9 @@ public class PaymentServiceImpl implements PaymentService {
             throw new PaymentConflictException("Payment already exists for this order");
         }
 
-        OrderClient.OrderSummaryResponse order =
-                orderClient.getOrderById(orderId, userId, "CUSTOMER");
+        OrderClient.OrderSummaryResponse order = orderClient.getOrderSummary(orderId);
 
-        if (!order.getCustomerId().equals(userId)) {
+        if (!order.getUserId().equals(userId)) {
             throw new UnauthorizedException("Order does not belong to user");
         }
 
@@ -77,7 +76,7 @@ public class PaymentServiceImpl implements PaymentService {
         payment.setOrderId(orderId);
         payment.setUserId(userId);
         payment.setRestaurantId(order.getRestaurantId());
-        payment.setAmount(order.getTotalAmount());
+        payment.setAmount(order.getTotal());
         payment.setPaymentMethod(paymentMethod);
         payment.setStatus(PaymentStatus.PENDING);
 
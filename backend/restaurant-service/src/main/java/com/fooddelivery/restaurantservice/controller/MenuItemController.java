@@ -48,6 +48,15 @@ public class MenuItemController {
         return ResponseEntity.ok(item);
     }
 
+    // INTERNAL - Order and cart services resolve many items in one call
+    @PostMapping("/batch")
+    public ResponseEntity<List<MenuItemResponse>> getMenuItemsByIds(
+            @PathVariable Long restaurantId,
+            @RequestBody List<Long> menuItemIds) {
+        List<MenuItemResponse> items = menuItemService.getMenuItemsByIds(restaurantId, menuItemIds);
+        return ResponseEntity.ok(items);
+    }
+
     // Owner or Admin creates menu item
     @PostMapping
     public ResponseEntity<?> createMenuItem(
@@ -36,6 +36,11 @@ public class Restaurant {
 
     private String imageUrl;
 
+    // Optional, used by order-service to price delivery by distance
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -170,4 +175,20 @@ public class Restaurant {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+}
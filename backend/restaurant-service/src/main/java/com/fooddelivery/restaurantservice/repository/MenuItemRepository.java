@@ -4,6 +4,7 @@ import com.fooddelivery.restaurantservice.models.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,4 +17,6 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, String category);
 
     List<MenuItem> findByRestaurantIdAndCategoryAndIsAvailableTrue(Long restaurantId, String category);
+
+    List<MenuItem> findByRestaurantIdAndIdIn(Long restaurantId, Collection<Long> ids);
 }
\ No newline at end of file
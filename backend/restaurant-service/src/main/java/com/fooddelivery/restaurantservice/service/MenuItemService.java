@@ -12,6 +12,7 @@ import com.fooddelivery.restaurantservice.repository.RestaurantRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -64,6 +65,19 @@ public class MenuItemService {
         return mapToResponse(menuItem);
     }
 
+    // Resolves several menu items of one restaurant with a single query.
+    // Ids that don't exist or belong to another restaurant are simply left out.
+    @Transactional(readOnly = true)
+    public List<MenuItemResponse> getMenuItemsByIds(Long restaurantId, List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        return menuItemRepository.findByRestaurantIdAndIdIn(restaurantId, new LinkedHashSet<>(ids)).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     public MenuItemResponse createMenuItem(Long restaurantId, MenuItemRequest request, String ownerIdStr, String userRole) {
         Restaurant restaurant = restaurantRepository.findById(restaurantId)
@@ -91,6 +91,8 @@ public class RestaurantService {
         restaurant.setCuisine(request.getCuisine());
         restaurant.setDescription(request.getDescription());
         restaurant.setImageUrl(request.getImageUrl());
+        restaurant.setLatitude(request.getLatitude());
+        restaurant.setLongitude(request.getLongitude());
         restaurant.setOwnerId(ownerId);
         restaurant.setRating(0.0);
         restaurant.setIsActive(true);
@@ -114,6 +116,8 @@ public class RestaurantService {
         restaurant.setCuisine(request.getCuisine());
         restaurant.setDescription(request.getDescription());
         restaurant.setImageUrl(request.getImageUrl());
+        restaurant.setLatitude(request.getLatitude());
+        restaurant.setLongitude(request.getLongitude());
 
         Restaurant updated = restaurantRepository.save(restaurant);
         return mapToResponse(updated);
@@ -168,7 +172,7 @@ public class RestaurantService {
     }
 
     private RestaurantResponse mapToResponse(Restaurant restaurant) {
-        return new RestaurantResponse(
+        RestaurantResponse response = new RestaurantResponse(
                 restaurant.getId(),
                 restaurant.getName(),
                 restaurant.getAddress(),
@@ -182,5 +186,8 @@ public class RestaurantService {
                 restaurant.getCreatedAt(),
                 restaurant.getUpdatedAt()
         );
+        response.setLatitude(restaurant.getLatitude());
+        response.setLongitude(restaurant.getLongitude());
+        return response;
     }
 }
\ No newline at end of file
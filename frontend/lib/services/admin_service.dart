@@ -3,6 +3,7 @@ import 'package:http/http.dart' as http;
 
 import '../constants.dart';
 import '../services/token_service.dart';
+import 'order_pages.dart';
 
 class AdminService {
   static Future<Map<String, String>> _headers() async {
@@ -55,58 +56,20 @@ class AdminService {
     final url = "$baseUrl/orders";
     print("DEBUG: Fetching orders from: $url"); // Debug
 
-    final headers = await _headers();
-    print("DEBUG: Headers = $headers"); // Debug
-
-    try {
-      final res = await http.get(
-        Uri.parse(url),
-        headers: headers,
-      );
-
-      print("DEBUG: Response status = ${res.statusCode}"); // Debug
-      print("DEBUG: Response body length = ${res.body.length}"); // Debug
-      print("DEBUG: Response body preview = ${res.body.substring(0, res.body.length > 200 ? 200 : res.body.length)}..."); // Debug
-
-      final body = _decode(res);
-
-      if (res.statusCode == 200) {
-        if (body is List) {
-          print("DEBUG: Successfully parsed ${body.length} orders"); // Debug
-          return body;
-        } else {
-          print("DEBUG: ERROR - Body is not a List, it's ${body.runtimeType}"); // Debug
-          throw Exception("Expected List but got ${body.runtimeType}");
-        }
-      }
-
-      print("DEBUG: ERROR - Status ${res.statusCode}"); // Debug
-      throw Exception((body is Map ? body['message'] : null) ?? "Failed to load orders (status ${res.statusCode})");
-
-    } catch (e) {
-      print("DEBUG: Exception caught: $e"); // Debug
-      rethrow;
-    }
+    final orders = await fetchAllOrderPages(url, await _headers(),
+        errorMessage: "Failed to load orders");
+    print("DEBUG: Successfully parsed ${orders.length} orders"); // Debug
+    return orders;
   }
 
   static Future<List<dynamic>> getOrdersByCustomer(int customerId) async {
-    final res = await http.get(
-      Uri.parse("$baseUrl/orders/customer/$customerId"),
-      headers: await _headers(),
-    );
-    final body = _decode(res);
-    if (res.statusCode == 200) return (body as List);
-    throw Exception((body is Map ? body['message'] : null) ?? "Failed to load customer orders");
+    return fetchAllOrderPages("$baseUrl/orders/customer/$customerId", await _headers(),
+        errorMessage: "Failed to load customer orders");
   }
 
   static Future<List<dynamic>> getOrdersByStatus(String status) async {
-    final res = await http.get(
-      Uri.parse("$baseUrl/orders/status/$status"),
-      headers: await _headers(),
-    );
-    final body = _decode(res);
-    if (res.statusCode == 200) return (body as List);
-    throw Exception((body is Map ? body['message'] : null) ?? "Failed to load orders by status");
+    return fetchAllOrderPages("$baseUrl/orders/status/$status", await _headers(),
+        errorMessage: "Failed to load orders by status");
   }
 
   static Future<Map<String, dynamic>> getOrder(int orderId) async {
@@ -0,0 +1,36 @@
+import 'dart:convert';
+import 'package:http/http.dart' as http;
+
+// Order lists are paginated: { items: [...], nextCursor: "..." }, nextCursor null on
+// the last page. Screens show (and count) every order, so all pages are fetched.
+const int _orderPageSize = 100; // order-service's largest page
+
+Future<List<dynamic>> fetchAllOrderPages(
+  String url,
+  Map<String, String> headers, {
+  required String errorMessage,
+}) async {
+  final orders = <dynamic>[];
+  String? cursor;
+
+  do {
+    final uri = Uri.parse(url).replace(queryParameters: {
+      "limit": "$_orderPageSize",
+      if (cursor != null) "cursor": cursor,
+    });
+    final res = await http.get(uri, headers: headers);
+    final body = res.body.isEmpty ? null : jsonDecode(res.body);
+
+    if (res.statusCode != 200) {
+      throw Exception((body is Map ? body['message'] : null) ?? errorMessage);
+    }
+    if (body is! Map || body['items'] is! List) {
+      throw Exception("Expected order page but got ${body.runtimeType}");
+    }
+
+    orders.addAll(body['items'] as List);
+    cursor = body['nextCursor'] as String?;
+  } while (cursor != null);
+
+  return orders;
+}
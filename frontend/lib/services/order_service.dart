@@ -1,6 +1,7 @@
 import 'dart:convert';
 import 'package:http/http.dart' as http;
 
+import 'order_pages.dart';
 import 'token_service.dart';
 import '../constants.dart';
 
@@ -9,19 +10,14 @@ class OrdersService {
   static Future<List<dynamic>> fetchMyOrders() async {
     final token = await TokenService.getToken();
 
-    final response = await http.get(
-      Uri.parse("$baseUrl/orders/customer"),
-      headers: {
+    return fetchAllOrderPages(
+      "$baseUrl/orders/customer",
+      {
         "Authorization": "Bearer $token",
         "Content-Type": "application/json",
       },
+      errorMessage: "Failed to load orders",
     );
-
-    if (response.statusCode == 200) {
-      return jsonDecode(response.body);
-    } else {
-      throw Exception("Failed to load orders (${response.statusCode})");
-    }
   }
 
   // Checkout current cart => creates order + clears cart in backend
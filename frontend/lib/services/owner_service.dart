@@ -2,6 +2,7 @@ import 'dart:convert';
 import 'package:http/http.dart' as http;
 
 import '../constants.dart';
+import 'order_pages.dart';
 import 'token_service.dart';
 
 class OwnerService {
@@ -386,21 +387,14 @@ class OwnerService {
 
   static Future<List<dynamic>> getRestaurantOrders(int restaurantId) async {
     final token = await TokenService.getToken();
-    final res = await http.get(
-      Uri.parse("$baseUrl/orders/restaurant/$restaurantId"),
-      headers: {
+    return fetchAllOrderPages(
+      "$baseUrl/orders/restaurant/$restaurantId",
+      {
         "Authorization": "Bearer $token",
         "Content-Type": "application/json",
       },
+      errorMessage: "Failed to load orders",
     );
-
-    if (res.statusCode == 200) {
-      final body = jsonDecode(res.body);
-      return (body as List);
-    }
-
-    final body = jsonDecode(res.body);
-    throw Exception(body['message'] ?? "Failed to load orders");
   }
 
   static Future<void> updateOrderStatus(int orderId, String status) async {